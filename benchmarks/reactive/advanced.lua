@@ -0,0 +1,7 @@
+-- POST /api/clients/search/advanced filtrando por un email distinto en cada petición
+wrk.method = "POST"
+wrk.headers["Content-Type"] = "application/json"
+
+request = function()
+    return wrk.format(nil, nil, nil, '{"email":"user' .. math.random(100000, 999999) .. '"}')
+end
@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+# Compara rendimiento y latencia p99 de las búsquedas servidas por Spring MVC sobre JPA (puerto 8080)
+# y por la ruta reactiva WebFlux + R2DBC (clients.reactive.port, 8081) con 1000 y 10000 conexiones.
+#
+# Uso: ./run.sh [jar]   (por defecto target/clients-0.0.1-SNAPSHOT.jar)
+# Requiere wrk, una base de datos con datos (ver benchmarks/trigram/seed.sql) y Java 21.
+# Con 10000 conexiones, ulimit -n debe superar ese número tanto para wrk como para la aplicación.
+set -euo pipefail
+
+SCRIPTS=$(cd "$(dirname "$0")" && pwd)
+JAR=${1:-target/clients-0.0.1-SNAPSHOT.jar}
+PORT=${PORT:-8080}
+REACTIVE_PORT=${REACTIVE_PORT:-8081}
+CONNECTIONS=${CONNECTIONS:-"1000 10000"}
+DURATION=${DURATION:-60s}
+THREADS=${THREADS:-8}
+
+wait_for_startup() {
+    for _ in $(seq 1 120); do
+        curl -sf "http://localhost:$PORT/api/clients/page?size=1" >/dev/null \
+            && curl -s -o /dev/null "http://localhost:$REACTIVE_PORT/api/clients/search?sharedKey=user1" \
+            && return 0
+        sleep 1
+    done
+    echo "La aplicación no arrancó" >&2
+    return 1
+}
+
+# Sin caché de búsquedas ni control de admisión, para comparar solo el acceso a datos de cada pila
+java -jar "$JAR" --server.port="$PORT" --clients.reactive.enabled=true --clients.reactive.port="$REACTIVE_PORT" \
+    --clients.cache.shared-key.maximum-size=0 --clients.admission.search.rate=0 \
+    --logging.level.root=WARN >/dev/null 2>&1 &
+PID=$!
+trap 'kill $PID 2>/dev/null || true' EXIT
+wait_for_startup
+
+for c in $CONNECTIONS; do
+    for stack in "mvc $PORT" "reactive $REACTIVE_PORT"; do
+        set -- $stack
+        echo "== $1 conexiones=$c"
+        wrk -t"$THREADS" -c"$c" -d"$DURATION" --latency -s "$SCRIPTS/search.lua" "http://localhost:$2" \
+            | grep -E "Requests/sec|Non-2xx|Socket errors|50%|99%"
+        wrk -t"$THREADS" -c"$c" -d"$DURATION" --latency -s "$SCRIPTS/advanced.lua" \
+            "http://localhost:$2/api/clients/search/advanced" \
+            | grep -E "Requests/sec|Non-2xx|Socket errors|50%|99%"
+    done
+done
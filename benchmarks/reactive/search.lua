@@ -0,0 +1,4 @@
+-- GET /api/clients/search con una sharedKey distinta en cada petición (datos de benchmarks/trigram/seed.sql)
+request = function()
+    return wrk.format("GET", "/api/clients/search?sharedKey=user" .. math.random(100000, 999999))
+end
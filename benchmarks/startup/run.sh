@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# Compara el tiempo hasta la primera respuesta y la memoria residente (RSS) de la aplicación
+# arrancada como jar normal, con el código generado por AOT y con AOT más el archivo CDS.
+#
+# Uso: ./run.sh [directorio]   (por defecto target/cds, generado con: mvn -Paot-cds package)
+# Requiere una base de datos accesible con la configuración de la aplicación, curl y Java 21.
+# El tiempo se mide desde el lanzamiento de la JVM hasta la primera respuesta correcta de la API.
+set -euo pipefail
+
+# El archivo CDS solo es válido con la misma ruta de clases que la ejecución de entrenamiento
+cd "${1:-target/cds}"
+JAR=$(ls clients-*.jar | head -1)
+PORT=${PORT:-8080}
+RUNS=${RUNS:-5}
+BASE_URL="http://localhost:$PORT/api/clients"
+
+now_ms() {
+    date +%s%3N
+}
+
+wait_for_first_request() {
+    for _ in $(seq 1 6000); do
+        curl -sf "$BASE_URL/page?size=1" >/dev/null && return 0
+        sleep 0.01
+    done
+    echo "La aplicación no arrancó" >&2
+    return 1
+}
+
+rss_mb() {
+    awk '/VmRSS/ { printf "%.0f", $2 / 1024 }' "/proc/$1/status"
+}
+
+run_mode() {
+    local mode=$1
+    shift
+    local total_ms=0 total_rss=0
+    for run in $(seq 1 "$RUNS"); do
+        local start
+        start=$(now_ms)
+        java "$@" -jar "$JAR" --server.port="$PORT" --logging.level.root=WARN >/dev/null 2>&1 &
+        local pid=$!
+        wait_for_first_request
+        local elapsed=$(($(now_ms) - start))
+        local rss
+        rss=$(rss_mb "$pid")
+        kill "$pid"
+        wait "$pid" 2>/dev/null || true
+        echo "   $mode #$run: ${elapsed} ms, RSS ${rss} MB"
+        total_ms=$((total_ms + elapsed))
+        total_rss=$((total_rss + rss))
+    done
+    echo "== $mode: primera respuesta $((total_ms / RUNS)) ms, RSS $((total_rss / RUNS)) MB (media de $RUNS)"
+}
+
+run_mode jar
+run_mode aot -Dspring.aot.enabled=true
+run_mode aot+cds -Dspring.aot.enabled=true -XX:SharedArchiveFile=application.jsa
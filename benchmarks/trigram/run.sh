@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+# Mide la latencia p50/p99 de la búsqueda por subcadena de sharedKey con y sin
+# los índices de trigramas creados por V2__trigram_search_indexes.sql.
+#
+# Uso: PGDATABASE=clientsdb ./run.sh [filas...]   (por defecto 1000000 10000000)
+# Requiere psql y pgbench, y que las migraciones de Flyway ya se hayan aplicado.
+set -euo pipefail
+
+cd "$(dirname "$0")"
+ROWS_LIST=("${@:-1000000 10000000}")
+CLIENTS=${CLIENTS:-8}
+DURATION=${DURATION:-60}
+WORKDIR=$(mktemp -d)
+
+percentiles() {
+    # Columna 3 del log de pgbench: latencia de la transacción en microsegundos
+    cat "$1"/pgbench_log.* | awk '{print $3}' | sort -n | awk '
+        { v[NR] = $1 }
+        END {
+            printf "p50=%.2fms p99=%.2fms n=%d\n", v[int(NR * 0.50)] / 1000, v[int(NR * 0.99)] / 1000, NR
+        }'
+    rm -f "$1"/pgbench_log.*
+}
+
+run_pgbench() {
+    local rows=$1
+    (cd "$WORKDIR" && pgbench -n -c "$CLIENTS" -j "$CLIENTS" -T "$DURATION" -l \
+        -D rows="$rows" -f "$OLDPWD/search.sql" >/dev/null)
+    percentiles "$WORKDIR"
+}
+
+for rows in ${ROWS_LIST[@]}; do
+    echo "== $rows filas"
+    psql -q -v rows="$rows" -f seed.sql
+
+    psql -q -c "DROP INDEX IF EXISTS idx_client_shared_key_trgm"
+    echo -n "sin índice de trigramas: "
+    run_pgbench "$rows"
+
+    psql -q -c "CREATE INDEX idx_client_shared_key_trgm ON client USING gin (lower(shared_key) gin_trgm_ops)"
+    psql -q -c "ANALYZE client"
+    echo -n "con índice de trigramas: "
+    run_pgbench "$rows"
+done
+
+rm -rf "$WORKDIR"
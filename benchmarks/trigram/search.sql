@@ -0,0 +1,4 @@
+\set n random(1, :rows)
+SELECT id, shared_key, name, email, phone, created_at
+FROM client
+WHERE lower(shared_key) LIKE '%' || substr(md5(:n::text), 1, 5) || '%' ESCAPE '\';
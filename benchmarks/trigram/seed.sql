@@ -0,0 +1,13 @@
+-- Genera :rows clientes sintéticos. Uso: psql -v rows=1000000 -f seed.sql
+TRUNCATE client;
+
+INSERT INTO client (id, shared_key, name, email, phone, created_at)
+SELECT md5(i::text),
+       'user' || i || substr(md5(i::text), 1, 6),
+       'Client ' || substr(md5((i * 7)::text), 1, 10),
+       'user' || i || substr(md5(i::text), 1, 6) || '@example.com',
+       lpad((i % 10000000000)::text, 10, '0'),
+       now() - (i || ' seconds')::interval
+FROM generate_series(1, :rows) AS i;
+
+ANALYZE client;
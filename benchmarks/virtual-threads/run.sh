@@ -0,0 +1,42 @@
+#!/usr/bin/env bash
+# Compara rendimiento y latencia p99 de la API con hilos de plataforma y con hilos virtuales.
+#
+# Uso: ./run.sh [jar]   (por defecto target/clients-0.0.1-SNAPSHOT.jar)
+# Requiere wrk, una base de datos con datos (ver benchmarks/trigram/seed.sql) y Java 21.
+set -euo pipefail
+
+JAR=${1:-target/clients-0.0.1-SNAPSHOT.jar}
+PORT=${PORT:-8080}
+CONNECTIONS=${CONNECTIONS:-"100 1000 4000"}
+DURATION=${DURATION:-60s}
+THREADS=${THREADS:-8}
+BASE_URL="http://localhost:$PORT/api/clients"
+
+wait_for_startup() {
+    for _ in $(seq 1 120); do
+        curl -sf "$BASE_URL/page?size=1" >/dev/null && return 0
+        sleep 1
+    done
+    echo "La aplicación no arrancó" >&2
+    return 1
+}
+
+run_mode() {
+    local virtual=$1
+    java -jar "$JAR" --server.port="$PORT" --spring.threads.virtual.enabled="$virtual" \
+        --logging.level.root=WARN >/dev/null 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' RETURN
+    wait_for_startup
+
+    for c in $CONNECTIONS; do
+        echo "== virtual=$virtual conexiones=$c"
+        wrk -t"$THREADS" -c"$c" -d"$DURATION" --latency "$BASE_URL/search?sharedKey=user1" \
+            | grep -E "Requests/sec|50%|99%"
+        wrk -t"$THREADS" -c"$c" -d"$DURATION" --latency "$BASE_URL/page?size=50" \
+            | grep -E "Requests/sec|50%|99%"
+    done
+}
+
+run_mode false
+run_mode true
@@ -0,0 +1,76 @@
+package com.alianza.clients.benchmark;
+
+import com.alianza.clients.dto.ClientCreatedAtRange;
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.model.Client;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Datos sintéticos deterministas para los benchmarks.
+ */
+public final class BenchmarkData {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private BenchmarkData() {
+    }
+
+    public static Client client(int i) {
+        return Client.builder()
+                .id(new UUID(0, i).toString())
+                .sharedKey("user" + i)
+                .name("Client " + i)
+                .email("user" + i + "@example.com")
+                .phone(String.format("%010d", i))
+                .createdAt(BASE_TIME.plusSeconds(i))
+                .build();
+    }
+
+    public static ClientDTO clientDTO(int i) {
+        return ClientDTO.builder()
+                .id(new UUID(0, i).toString())
+                .sharedKey("user" + i)
+                .name("Client " + i)
+                .email("user" + i + "@example.com")
+                .phone(String.format("%010d", i))
+                .createdAt(LocalDate.of(2024, 1, 1).plusDays(i % 365))
+                .build();
+    }
+
+    public static Stream<Client> clients(int count) {
+        return IntStream.range(0, count).mapToObj(BenchmarkData::client);
+    }
+
+    public static Stream<ClientDTO> clientDTOStream(int count) {
+        return IntStream.range(0, count).mapToObj(BenchmarkData::clientDTO);
+    }
+
+    public static List<ClientDTO> clientDTOs(int count) {
+        return clientDTOStream(count).toList();
+    }
+
+    /**
+     * Clientes creados en [from, to), suponiendo que el cliente i se creó i segundos después de la fecha base.
+     * Un extremo null no acota el rango.
+     */
+    public static Stream<ClientDTO> clientDTOStream(int count, LocalDateTime from, LocalDateTime to) {
+        int first = from == null ? 0 : Math.clamp(secondsCeil(from), 0, count);
+        int last = to == null ? count : Math.clamp(secondsCeil(to), 0, count);
+        return IntStream.range(first, last).mapToObj(BenchmarkData::clientDTO);
+    }
+
+    public static ClientCreatedAtRange createdAtRange(int count) {
+        return new ClientCreatedAtRange(BASE_TIME, BASE_TIME.plusSeconds(count - 1));
+    }
+
+    private static long secondsCeil(LocalDateTime time) {
+        return Math.ceilDiv(Duration.between(BASE_TIME, time).toNanos(), 1_000_000_000L);
+    }
+}
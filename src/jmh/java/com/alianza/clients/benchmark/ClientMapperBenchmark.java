@@ -0,0 +1,43 @@
+package com.alianza.clients.benchmark;
+
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.mapper.ClientMapper;
+import com.alianza.clients.mapper.ClientMapperImpl;
+import com.alianza.clients.model.Client;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de copiar un cliente entre entidad y DTO con el mapeador generado por MapStruct.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientMapperBenchmark {
+
+    private final ClientMapper clientMapper = new ClientMapperImpl();
+    private final Client client = BenchmarkData.client(42);
+    private final ClientDTO clientDTO = BenchmarkData.clientDTO(42);
+
+    @Benchmark
+    public ClientDTO toDTO() {
+        return clientMapper.toDTO(client);
+    }
+
+    @Benchmark
+    public Client toEntity() {
+        return clientMapper.toEntity(clientDTO);
+    }
+}
@@ -0,0 +1,77 @@
+package com.alianza.clients.benchmark;
+
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.dto.ClientSearchCriteria;
+import com.alianza.clients.service.index.ClientSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsquedas sobre el índice en memoria: sharedKey y email selectivos (trigramas), nombre con un texto
+ * de dos caracteres (recorrido completo) y combinación de filtros con rango de fechas.
+ * Al cargar el índice se imprime la memoria que ocupa por millón de clientes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ClientSearchIndexBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int clients;
+
+    private ClientSearchIndex index;
+    private ClientSearchCriteria emailCriteria;
+    private ClientSearchCriteria shortNameCriteria;
+    private ClientSearchCriteria combinedCriteria;
+
+    @Setup
+    public void setUp() {
+        index = new ClientSearchIndex();
+        BenchmarkData.clientDTOStream(clients).forEach(index::add);
+        System.out.printf("%n%d clients, %d MB, %d MB per million clients%n", index.size(),
+                index.memoryBytes() >> 20, Math.round(index.memoryBytes() * 1_000_000.0 / clients / (1 << 20)));
+
+        emailCriteria = ClientSearchCriteria.builder().email("user" + clients / 2 + "@").build();
+        shortNameCriteria = ClientSearchCriteria.builder().name("99").build();
+        combinedCriteria = ClientSearchCriteria.builder()
+                .name("client 12").email("example.com").phone("0001")
+                .startDate(LocalDate.of(2024, 3, 1)).endDate(LocalDate.of(2024, 6, 30))
+                .build();
+    }
+
+    @Benchmark
+    public List<ClientDTO> searchBySharedKey() {
+        return index.searchBySharedKey("USER" + clients / 3);
+    }
+
+    @Benchmark
+    public List<ClientDTO> searchByEmail() {
+        return index.search(emailCriteria);
+    }
+
+    @Benchmark
+    public List<ClientDTO> searchByShortName() {
+        return index.search(shortNameCriteria);
+    }
+
+    @Benchmark
+    public List<ClientDTO> searchCombined() {
+        return index.search(combinedCriteria);
+    }
+}
@@ -0,0 +1,137 @@
+package com.alianza.clients.benchmark;
+
+import com.alianza.clients.config.CacheConfig;
+import com.alianza.clients.dto.ClientSearchCriteria;
+import com.alianza.clients.mapper.ClientMapperImpl;
+import com.alianza.clients.repository.IClientRepository;
+import com.alianza.clients.service.export.ClientExporterRegistry;
+import com.alianza.clients.service.export.CsvClientExporter;
+import com.alianza.clients.service.export.ExcelClientExporter;
+import com.alianza.clients.service.export.GzipCsvClientExporter;
+import com.alianza.clients.service.export.ParquetClientExporter;
+import com.alianza.clients.service.impl.ClientServiceImpl;
+import com.alianza.clients.service.impl.InMemoryClientSearch;
+import com.alianza.clients.service.impl.ParallelCsvExporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Exportación completa en cada formato (codificación y escritura) sobre un repositorio
+ * simulado, para medir el coste de la aplicación sin la base de datos.
+ * Cada operación exporta todas las filas, por eso se mide en modo de disparo único.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+public class ExportBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ClientServiceImpl clientService;
+    private ClientSearchCriteria csvCriteria;
+    private ClientSearchCriteria excelCriteria;
+    private ClientSearchCriteria csvGzipCriteria;
+    private ClientSearchCriteria parquetCriteria;
+
+    @Setup
+    public void setUp() {
+        IClientRepository clientRepository = mock(IClientRepository.class);
+        when(clientRepository.streamAllAsDTO(any())).thenAnswer(invocation -> BenchmarkData.clientDTOStream(rows));
+
+        clientService = new ClientServiceImpl(clientRepository, new ClientMapperImpl(),
+                new ConcurrentMapCacheManager(CacheConfig.CLIENTS_BY_SHARED_KEY), new SimpleMeterRegistry(),
+                new ObjectMapper(), event -> { }, exporterRegistry(),
+                new ParallelCsvExporter(clientRepository, mock(PlatformTransactionManager.class), 1, 1,
+                        Duration.ofMinutes(30), false),
+                mock(PlatformTransactionManager.class), disabledInMemorySearch(clientRepository), 500);
+        csvCriteria = ClientSearchCriteria.builder().exportFormat("CSV").build();
+        excelCriteria = ClientSearchCriteria.builder().exportFormat("EXCEL").build();
+        csvGzipCriteria = ClientSearchCriteria.builder().exportFormat("CSV_GZIP").build();
+        parquetCriteria = ClientSearchCriteria.builder().exportFormat("PARQUET").build();
+    }
+
+    static ClientExporterRegistry exporterRegistry() {
+        CsvClientExporter csvExporter = new CsvClientExporter();
+        return new ClientExporterRegistry(List.of(csvExporter, new GzipCsvClientExporter(csvExporter),
+                new ExcelClientExporter(100, true),
+                new ParquetClientExporter(DataSize.ofMegabytes(8), CompressionCodecName.SNAPPY)));
+    }
+
+    static InMemoryClientSearch disabledInMemorySearch(IClientRepository clientRepository) {
+        return new InMemoryClientSearch(clientRepository, Runnable::run, false, "", 10000);
+    }
+
+    @Benchmark
+    public long exportCsv() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        clientService.exportClients(csvCriteria, out);
+        return out.count;
+    }
+
+    @Benchmark
+    public long exportExcel() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        clientService.exportClients(excelCriteria, out);
+        return out.count;
+    }
+
+    @Benchmark
+    public long exportCsvGzip() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        clientService.exportClients(csvGzipCriteria, out);
+        return out.count;
+    }
+
+    @Benchmark
+    public long exportParquet() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        clientService.exportClients(parquetCriteria, out);
+        return out.count;
+    }
+
+    /**
+     * Descarta los bytes escritos; solo cuenta el tamaño del archivo generado.
+     */
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
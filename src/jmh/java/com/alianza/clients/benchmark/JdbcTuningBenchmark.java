@@ -0,0 +1,199 @@
+package com.alianza.clients.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ajustes del driver JDBC y de Hibernate del perfil prod medidos contra una base de datos real:
+ * <ul>
+ *     <li>inserciones por lotes según el tamaño de lote y reWriteBatchedInserts
+ *     (hibernate.jdbc.batch_size y la propiedad del driver),</li>
+ *     <li>lectura completa de la tabla según el fetch size (clients.export.fetch-size),</li>
+ *     <li>búsquedas repetidas por sharedKey según prepareThreshold.</li>
+ * </ul>
+ * La conexión se toma de -Dbenchmark.jdbc.url/-Dbenchmark.jdbc.user/-Dbenchmark.jdbc.password,
+ * que deben pasarse a la JVM del benchmark con -jvmArgsAppend. Las inserciones usan una tabla
+ * propia (client_benchmark) que se vacía antes de cada operación; las lecturas usan la tabla client.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class JdbcTuningBenchmark {
+
+    private static final int INSERT_ROWS = 10_000;
+    private static final int LOOKUPS = 2_000;
+
+    @Benchmark
+    public int insertBatch(BatchState state) throws SQLException {
+        Connection connection = state.connection;
+        LocalDateTime now = LocalDateTime.now();
+        try (PreparedStatement insert = connection.prepareStatement("insert into client_benchmark"
+                + " (id, shared_key, name, email, phone, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < INSERT_ROWS; i++) {
+                insert.setString(1, "id-" + i);
+                insert.setString(2, "user" + i);
+                insert.setString(3, "Client " + i);
+                insert.setString(4, "user" + i + "@example.com");
+                insert.setString(5, String.format("%010d", i));
+                insert.setTimestamp(6, Timestamp.valueOf(now));
+                insert.setTimestamp(7, Timestamp.valueOf(now));
+                insert.addBatch();
+                if ((i + 1) % state.batchSize == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        return INSERT_ROWS;
+    }
+
+    @Benchmark
+    public long readAll(FetchState state, Blackhole blackhole) throws SQLException {
+        long rows = 0;
+        try (Statement select = state.connection.createStatement()) {
+            select.setFetchSize(state.fetchSize);
+            try (ResultSet resultSet = select.executeQuery(
+                    "select id, shared_key, name, email, phone, created_at from client")) {
+                while (resultSet.next()) {
+                    blackhole.consume(resultSet.getString(1));
+                    blackhole.consume(resultSet.getString(4));
+                    blackhole.consume(resultSet.getTimestamp(6));
+                    rows++;
+                }
+            }
+        }
+        state.connection.commit();
+        return rows;
+    }
+
+    @Benchmark
+    public void lookupBySharedKey(PrepareState state, Blackhole blackhole) throws SQLException {
+        for (int i = 0; i < LOOKUPS; i++) {
+            // Como Hibernate: una sentencia nueva por consulta, reutilizada en el servidor a partir del umbral
+            try (PreparedStatement select = state.connection.prepareStatement(
+                    "select id, shared_key, name, email, phone, created_at from client where lower(shared_key) like ?")) {
+                select.setString(1, "user" + (i % 1000) + "%");
+                try (ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        blackhole.consume(resultSet.getString(1));
+                    }
+                }
+            }
+        }
+        state.connection.commit();
+    }
+
+    @State(Scope.Benchmark)
+    public static class BatchState {
+        @Param({"1", "50", "500"})
+        public int batchSize;
+
+        @Param({"false", "true"})
+        public boolean reWriteBatchedInserts;
+
+        Connection connection;
+
+        @Setup
+        public void setUp() throws SQLException {
+            Properties properties = new Properties();
+            properties.setProperty("reWriteBatchedInserts", String.valueOf(reWriteBatchedInserts));
+            connection = connect(properties);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create table if not exists client_benchmark (like client including defaults)");
+            }
+            connection.commit();
+        }
+
+        @Setup(Level.Invocation)
+        public void truncate() throws SQLException {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("truncate client_benchmark");
+            }
+            connection.commit();
+        }
+
+        @TearDown
+        public void tearDown() throws SQLException {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("drop table if exists client_benchmark");
+            }
+            connection.commit();
+            connection.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class FetchState {
+        /** 0 es el valor por defecto del driver: lee todo el resultado en memoria. */
+        @Param({"0", "100", "1000", "10000"})
+        public int fetchSize;
+
+        Connection connection;
+
+        @Setup
+        public void setUp() throws SQLException {
+            connection = connect(new Properties());
+        }
+
+        @TearDown
+        public void tearDown() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PrepareState {
+        /** 0 no prepara nunca en el servidor; 5 es el valor por defecto del driver. */
+        @Param({"0", "1", "5"})
+        public int prepareThreshold;
+
+        Connection connection;
+
+        @Setup
+        public void setUp() throws SQLException {
+            Properties properties = new Properties();
+            properties.setProperty("prepareThreshold", String.valueOf(prepareThreshold));
+            connection = connect(properties);
+        }
+
+        @TearDown
+        public void tearDown() throws SQLException {
+            connection.close();
+        }
+    }
+
+    private static Connection connect(Properties properties) throws SQLException {
+        properties.setProperty("user", System.getProperty("benchmark.jdbc.user", "postgres"));
+        properties.setProperty("password", System.getProperty("benchmark.jdbc.password", "postgres"));
+        Connection connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/clientsdb"), properties);
+        connection.setAutoCommit(false);
+        return connection;
+    }
+}
@@ -0,0 +1,106 @@
+package com.alianza.clients.benchmark;
+
+import com.alianza.clients.config.CacheConfig;
+import com.alianza.clients.dto.ClientSearchCriteria;
+import com.alianza.clients.mapper.ClientMapperImpl;
+import com.alianza.clients.repository.IClientRepository;
+import com.alianza.clients.service.impl.ClientServiceImpl;
+import com.alianza.clients.service.impl.ParallelCsvExporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Exportación CSV secuencial (1 partición) frente a la exportación por particiones leídas en
+ * paralelo, con tantos hilos como particiones. El repositorio simulado reparte las filas por
+ * fecha de creación igual que la consulta real, así que se mide la codificación en paralelo y
+ * la concatenación de los archivos temporales; la lectura concurrente de la base de datos
+ * solo puede medirse contra una instancia real.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+public class ParallelExportBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"1", "4", "16"})
+    public int partitions;
+
+    private ParallelCsvExporter parallelCsvExporter;
+    private ClientServiceImpl clientService;
+    private ClientSearchCriteria criteria;
+
+    @Setup
+    public void setUp() {
+        IClientRepository clientRepository = mock(IClientRepository.class);
+        when(clientRepository.streamAllAsDTO(any())).thenAnswer(invocation -> BenchmarkData.clientDTOStream(rows));
+        when(clientRepository.streamAllAsDTO(any(), any(), any())).thenAnswer(invocation -> BenchmarkData.clientDTOStream(
+                rows, invocation.getArgument(1, LocalDateTime.class), invocation.getArgument(2, LocalDateTime.class)));
+        when(clientRepository.findCreatedAtRange(any())).thenReturn(BenchmarkData.createdAtRange(rows));
+
+        parallelCsvExporter = new ParallelCsvExporter(clientRepository, mock(PlatformTransactionManager.class),
+                partitions, partitions, Duration.ofMinutes(30), false);
+        clientService = new ClientServiceImpl(clientRepository, new ClientMapperImpl(),
+                new ConcurrentMapCacheManager(CacheConfig.CLIENTS_BY_SHARED_KEY), new SimpleMeterRegistry(),
+                new ObjectMapper(), event -> { }, ExportBenchmark.exporterRegistry(), parallelCsvExporter,
+                mock(PlatformTransactionManager.class), ExportBenchmark.disabledInMemorySearch(clientRepository), 500);
+        criteria = ClientSearchCriteria.builder().exportFormat("CSV").build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        parallelCsvExporter.shutdown();
+    }
+
+    @Benchmark
+    public long exportCsv() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        clientService.exportClients(criteria, out);
+        return out.count;
+    }
+
+    /**
+     * Descarta los bytes escritos; solo cuenta el tamaño del archivo generado.
+     */
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
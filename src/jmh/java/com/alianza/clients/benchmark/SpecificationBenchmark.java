@@ -0,0 +1,132 @@
+package com.alianza.clients.benchmark;
+
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.dto.ClientSearchCriteria;
+import com.alianza.clients.model.Client;
+import com.alianza.clients.repository.ClientSearchQueries;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.query.Query;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construcción de la consulta de la búsqueda avanzada: composición de especificaciones Criteria
+ * (definidas aquí solo como referencia) frente a las sentencias canónicas de {@link ClientSearchQueries}, incluida la creación de la
+ * consulta en la sesión (donde la sentencia JPQL reutiliza el plan cacheado por Hibernate).
+ * La SessionFactory se arranca sin conexión a base de datos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpecificationBenchmark {
+
+    private static final ClientSearchCriteria ALL_CRITERIA = ClientSearchCriteria.builder()
+            .name("john").email("example.com").phone("123")
+            .startDate(LocalDate.of(2024, 1, 1)).endDate(LocalDate.of(2024, 12, 31))
+            .build();
+
+    private SessionFactory sessionFactory;
+    private Session session;
+    private CriteriaBuilder criteriaBuilder;
+    private ClientSearchQueries searchQueries;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Client.class)
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect")
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .buildSessionFactory();
+        session = sessionFactory.openSession();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+        searchQueries = new ClientSearchQueries();
+    }
+
+    @TearDown
+    public void tearDown() {
+        session.close();
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public CriteriaQuery<Client> allCriteria() {
+        return buildQuery("john", "example.com", "123", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+    }
+
+    @Benchmark
+    public Query<Client> allCriteriaSessionQuery() {
+        return session.createQuery(allCriteria());
+    }
+
+    @Benchmark
+    public TypedQuery<ClientDTO> allCriteriaCanonical() {
+        return searchQueries.dtoQuery(session, ALL_CRITERIA);
+    }
+
+    @Benchmark
+    public CriteriaQuery<Client> nameOnly() {
+        return buildQuery("john", null, null, null, null);
+    }
+
+    private CriteriaQuery<Client> buildQuery(String name, String email, String phone,
+                                             LocalDate startDate, LocalDate endDate) {
+        Specification<Client> spec = Specification.where(containsIgnoringCase("name", name))
+                .and(containsIgnoringCase("email", email))
+                .and(contains("phone", phone))
+                .and(createdBetween(startDate, endDate));
+
+        CriteriaQuery<Client> query = criteriaBuilder.createQuery(Client.class);
+        Root<Client> root = query.from(Client.class);
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return query;
+    }
+
+    private static Specification<Client> containsIgnoringCase(String attribute, String value) {
+        return (root, query, criteriaBuilder) -> value == null ? null
+                : criteriaBuilder.like(criteriaBuilder.lower(root.get(attribute)), "%" + value.toLowerCase() + "%");
+    }
+
+    private static Specification<Client> contains(String attribute, String value) {
+        return (root, query, criteriaBuilder) -> value == null ? null
+                : criteriaBuilder.like(root.get(attribute), "%" + value + "%");
+    }
+
+    private static Specification<Client> createdBetween(LocalDate startDate, LocalDate endDate) {
+        return (root, query, criteriaBuilder) -> {
+            if (startDate == null && endDate == null) return null;
+            Predicate from = startDate == null ? null
+                    : criteriaBuilder.greaterThanOrEqualTo(root.get("createdAt"), startDate.atStartOfDay());
+            Predicate to = endDate == null ? null
+                    : criteriaBuilder.lessThan(root.get("createdAt"), endDate.plusDays(1).atStartOfDay());
+            if (from == null) return to;
+            if (to == null) return from;
+            return criteriaBuilder.and(from, to);
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.alianza.clients.service.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de derivar el sharedKey a partir del email.
+ * Está en el paquete del servicio porque el generador no es público.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SharedKeyGeneratorBenchmark {
+
+    @Param({"user@example.com", "Some.Very.Long.Mixed.Case.Local.Part@subdomain.example.com"})
+    public String email;
+
+    @Benchmark
+    public String generate() {
+        return SharedKeyGenerator.generate(email);
+    }
+}
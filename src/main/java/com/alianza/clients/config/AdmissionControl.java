@@ -0,0 +1,144 @@
+package com.alianza.clients.config;
+
+import com.alianza.clients.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Control de admisión de un grupo de endpoints costosos: límite de tasa con un cubo de fichas y,
+ * opcionalmente, un máximo de peticiones en curso. Lo comparten el servidor principal
+ * ({@link AdmissionControlInterceptor}) y el reactivo ({@link AdmissionControlFilter}), de modo que
+ * los límites de un grupo cubren los dos puertos. Las peticiones rechazadas terminan en un 429 con
+ * Retry-After. Publica clients.admission.requests{endpoint,result} y clients.admission.active{endpoint}.
+ */
+public class AdmissionControl {
+
+    private final String endpoint;
+    private final TokenBucket tokenBucket;
+    private final Semaphore concurrency;
+    private final Duration queueTimeout;
+    private final Duration retryAfter;
+    private final Counter admitted;
+    private final Counter rateLimited;
+    private final Counter concurrencyLimited;
+
+    /**
+     * @param endpoint Nombre del grupo de endpoints en los mensajes y métricas
+     * @param ratePerSecond Peticiones admitidas por segundo; 0 o menos desactiva el límite de tasa
+     * @param burst Peticiones admitidas de golpe por encima de la tasa
+     * @param maxConcurrent Peticiones en curso a la vez; 0 o menos desactiva el límite de concurrencia
+     * @param queueTimeout Tiempo máximo que una petición bloqueante espera a que quede un hueco libre
+     * @param retryAfter Tiempo de reintento sugerido cuando no queda hueco
+     * @param meterRegistry Registro de métricas
+     */
+    public AdmissionControl(String endpoint, double ratePerSecond, int burst, int maxConcurrent,
+                            Duration queueTimeout, Duration retryAfter, MeterRegistry meterRegistry) {
+        this.endpoint = endpoint;
+        this.tokenBucket = ratePerSecond > 0 ? new TokenBucket(ratePerSecond, burst) : null;
+        this.concurrency = maxConcurrent > 0 ? new Semaphore(maxConcurrent, true) : null;
+        this.queueTimeout = queueTimeout;
+        this.retryAfter = retryAfter;
+        this.admitted = counter(meterRegistry, "admitted");
+        this.rateLimited = counter(meterRegistry, "rate_limited");
+        this.concurrencyLimited = counter(meterRegistry, "concurrency_limited");
+        if (concurrency != null) {
+            Gauge.builder("clients.admission.active", concurrency, semaphore -> maxConcurrent - semaphore.availablePermits())
+                    .description("Peticiones en curso admitidas por el control de concurrencia")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Nombre del grupo de endpoints en los mensajes y métricas.
+     */
+    public String endpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Admite una petición, esperando como mucho queueTimeout a que quede un hueco libre.
+     *
+     * @return Permiso a liberar al terminar la respuesta
+     * @throws TooManyRequestsException si se supera el límite de tasa o no queda hueco a tiempo
+     */
+    public Permit admit() throws InterruptedException {
+        acquireToken();
+        if (concurrency != null && !concurrency.tryAcquire(queueTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            throw rejectForConcurrency();
+        }
+        return admitted();
+    }
+
+    /**
+     * Admite una petición sin esperar a que quede un hueco libre, para los hilos que no pueden bloquearse.
+     *
+     * @return Permiso a liberar al terminar la respuesta
+     * @throws TooManyRequestsException si se supera el límite de tasa o no hay hueco
+     */
+    public Permit tryAdmit() {
+        acquireToken();
+        if (concurrency != null && !concurrency.tryAcquire()) {
+            throw rejectForConcurrency();
+        }
+        return admitted();
+    }
+
+    private void acquireToken() {
+        if (tokenBucket != null) {
+            long waitNanos = tokenBucket.tryAcquire();
+            if (waitNanos > 0) {
+                rateLimited.increment();
+                throw new TooManyRequestsException("Se superó el límite de peticiones de " + endpoint
+                        + ". Intente más tarde.", Duration.ofNanos(waitNanos));
+            }
+        }
+    }
+
+    private TooManyRequestsException rejectForConcurrency() {
+        // La petición rechazada no consume tasa: la ficha queda para la siguiente
+        if (tokenBucket != null) {
+            tokenBucket.refund();
+        }
+        concurrencyLimited.increment();
+        return new TooManyRequestsException("Hay demasiadas peticiones de " + endpoint
+                + " en curso. Intente más tarde.", retryAfter);
+    }
+
+    private Permit admitted() {
+        admitted.increment();
+        return new Permit(concurrency);
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("clients.admission.requests")
+                .description("Peticiones admitidas y rechazadas por el control de admisión")
+                .tag("endpoint", endpoint)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Permiso de una petición admitida; se libera una sola vez, termine como termine.
+     */
+    public static final class Permit {
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        public void release() {
+            if (semaphore != null && released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+    }
+}
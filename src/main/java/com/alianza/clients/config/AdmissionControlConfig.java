@@ -0,0 +1,57 @@
+package com.alianza.clients.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Control de admisión de los endpoints costosos. Las exportaciones, la descarga de sus archivos y
+ * el volcado completo tienen límite de tasa y de concurrencia; la búsqueda avanzada, solo de tasa.
+ * Las consultas baratas (por id, por sharedKey, páginas, estado de una exportación) no se limitan,
+ * de modo que conservan su latencia aunque haya exportaciones en curso. La búsqueda avanzada del
+ * servidor reactivo comparte los límites de la de Spring MVC.
+ */
+@Configuration
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+    /**
+     * Nombre del bean con los límites de la búsqueda avanzada, que también aplica el servidor reactivo.
+     */
+    public static final String SEARCH = "searchAdmissionControl";
+
+    private final AdmissionControl exportAdmission;
+    private final AdmissionControl searchAdmission;
+
+    public AdmissionControlConfig(MeterRegistry meterRegistry,
+                                  @Value("${clients.admission.export.rate:1}") double exportRate,
+                                  @Value("${clients.admission.export.burst:5}") int exportBurst,
+                                  @Value("${clients.admission.export.max-concurrent:4}") int exportMaxConcurrent,
+                                  @Value("${clients.admission.export.queue-timeout:PT2S}") Duration exportQueueTimeout,
+                                  @Value("${clients.admission.export.retry-after:PT10S}") Duration exportRetryAfter,
+                                  @Value("${clients.admission.search.rate:20}") double searchRate,
+                                  @Value("${clients.admission.search.burst:40}") int searchBurst) {
+        this.exportAdmission = new AdmissionControl("export", exportRate, exportBurst,
+                exportMaxConcurrent, exportQueueTimeout, exportRetryAfter, meterRegistry);
+        this.searchAdmission = new AdmissionControl("search", searchRate, searchBurst,
+                0, Duration.ZERO, Duration.ZERO, meterRegistry);
+    }
+
+    @Bean(SEARCH)
+    public AdmissionControl searchAdmissionControl() {
+        return searchAdmission;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionControlInterceptor(exportAdmission))
+                .addPathPatterns("/api/clients/export", "/api/clients/export/jobs", "/api/clients/export/jobs/*/file",
+                        "/api/clients/stream");
+        registry.addInterceptor(new AdmissionControlInterceptor(searchAdmission))
+                .addPathPatterns("/api/clients/search/advanced", "/api/clients/search/advanced/page");
+    }
+}
@@ -0,0 +1,59 @@
+package com.alianza.clients.config;
+
+import com.alianza.clients.exception.TooManyRequestsException;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.WebFilter;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aplica un {@link AdmissionControl} a las rutas reactivas. El hilo del bucle de eventos no puede
+ * esperar a que quede un hueco libre, así que sin hueco la petición se rechaza de inmediato.
+ * El permiso se guarda en el intercambio y lo libera {@link #releasePermits()} cuando termina el
+ * intercambio, es decir, después de escribir la respuesta, o si falla o se cancela.
+ */
+public class AdmissionControlFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    private static final String PERMITS_ATTRIBUTE = AdmissionControlFilter.class.getName() + ".permits";
+
+    private final AdmissionControl admissionControl;
+
+    /**
+     * @param admissionControl Límites del grupo de endpoints, compartidos con Spring MVC
+     */
+    public AdmissionControlFilter(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    /**
+     * Filtro web que libera los permisos concedidos durante el intercambio cuando este termina.
+     * Debe registrarse en el servidor de las rutas que usan este filtro.
+     */
+    public static WebFilter releasePermits() {
+        return (exchange, chain) -> {
+            List<AdmissionControl.Permit> permits = new ArrayList<>(1);
+            exchange.getAttributes().put(PERMITS_ATTRIBUTE, permits);
+            return chain.filter(exchange).doFinally(signal -> permits.forEach(AdmissionControl.Permit::release));
+        };
+    }
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        List<AdmissionControl.Permit> permits = request.exchange().getAttribute(PERMITS_ATTRIBUTE);
+        if (permits == null) {
+            return Mono.error(new IllegalStateException(
+                    "AdmissionControlFilter requiere el filtro web AdmissionControlFilter.releasePermits()"));
+        }
+        try {
+            permits.add(admissionControl.tryAdmit());
+        } catch (TooManyRequestsException e) {
+            return Mono.error(e);
+        }
+        return next.handle(request);
+    }
+}
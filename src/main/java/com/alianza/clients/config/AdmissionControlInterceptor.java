@@ -0,0 +1,80 @@
+package com.alianza.clients.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Aplica un {@link AdmissionControl} a los endpoints de Spring MVC. Una petición espera como mucho
+ * el tiempo de cola configurado a que quede un hueco libre. En las respuestas asíncronas (exportaciones
+ * en streaming) el permiso de concurrencia se libera al terminar de escribir la respuesta, no al salir
+ * del controlador.
+ */
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    private final AdmissionControl admissionControl;
+    private final String permitAttribute;
+
+    /**
+     * @param admissionControl Límites del grupo de endpoints
+     */
+    public AdmissionControlInterceptor(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+        this.permitAttribute = AdmissionControlInterceptor.class.getName() + "." + admissionControl.endpoint();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        // El despacho que completa una respuesta asíncrona ya fue admitido
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        request.setAttribute(permitAttribute, new PermitListener(admissionControl.admit()));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        if (request.getAttribute(permitAttribute) instanceof PermitListener permit) {
+            request.getAsyncContext().addListener(permit);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!request.isAsyncStarted() && request.getAttribute(permitAttribute) instanceof PermitListener permit) {
+            permit.permit.release();
+        }
+    }
+
+    /**
+     * Libera el permiso cuando termina la respuesta asíncrona, termine como termine.
+     */
+    private record PermitListener(AdmissionControl.Permit permit) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
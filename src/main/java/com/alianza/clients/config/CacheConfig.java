@@ -0,0 +1,101 @@
+package com.alianza.clients.config;
+
+import com.alianza.clients.dto.Versioned;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Cachés en proceso (Caffeine, W-TinyLFU) para las consultas de lectura más frecuentes.
+ * Las estadísticas de aciertos, fallos y desalojos se publican como métricas cache.* en Actuator.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CLIENTS_BY_SHARED_KEY = "clientsBySharedKey";
+    public static final String ALL_CLIENTS = "allClients";
+    public static final String CLIENTS_VERSION = "clientsVersion";
+
+    private final Ticker ticker;
+
+    public CacheConfig() {
+        this(Ticker.systemTicker());
+    }
+
+    /**
+     * @param ticker Reloj de las expiraciones
+     */
+    CacheConfig(Ticker ticker) {
+        this.ticker = ticker;
+    }
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${clients.cache.shared-key.maximum-size:10000}") long sharedKeyMaximumSize,
+            @Value("${clients.cache.shared-key.ttl:PT5M}") Duration sharedKeyTtl,
+            @Value("${clients.cache.shared-key.negative-ttl:PT30S}") Duration sharedKeyNegativeTtl,
+            @Value("${clients.cache.all-clients.ttl:PT30S}") Duration allClientsTtl,
+            @Value("${clients.cache.version.ttl:PT2S}") Duration versionTtl) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                new CaffeineCache(CLIENTS_BY_SHARED_KEY, Caffeine.newBuilder()
+                        .maximumSize(sharedKeyMaximumSize)
+                        .expireAfter(new ResultAwareExpiry(sharedKeyTtl, sharedKeyNegativeTtl))
+                        .ticker(ticker)
+                        .recordStats()
+                        .build()),
+                new CaffeineCache(ALL_CLIENTS, Caffeine.newBuilder()
+                        .maximumSize(1)
+                        .expireAfterWrite(allClientsTtl)
+                        .ticker(ticker)
+                        .recordStats()
+                        .build()),
+                // Las altas de este nodo la invalidan; las de otros nodos se ven al expirar
+                new CaffeineCache(CLIENTS_VERSION, Caffeine.newBuilder()
+                        .maximumSize(1)
+                        .expireAfterWrite(versionTtl)
+                        .ticker(ticker)
+                        .recordStats()
+                        .build())
+        ));
+        return cacheManager;
+    }
+
+    /**
+     * Expiración por entrada: los resultados vacíos (búsquedas sin coincidencias) viven
+     * menos tiempo que los resultados con datos, para absorber fallos repetidos sin
+     * ocultar por mucho tiempo a los clientes recién creados en otros nodos. Los resultados
+     * cacheados con su versión ({@link Versioned}) se juzgan por su contenido.
+     */
+    private record ResultAwareExpiry(Duration ttl, Duration negativeTtl) implements Expiry<Object, Object> {
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            Object result = value instanceof Versioned<?> versioned ? versioned.body() : value;
+            boolean empty = result instanceof Collection<?> collection && collection.isEmpty();
+            return (empty ? negativeTtl : ttl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.alianza.clients.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Métricas de la aplicación. Habilita {@link io.micrometer.core.annotation.Timed} en los servicios;
+ * las consultas de los repositorios Spring Data (spring.data.repository.invocations) y el pool
+ * de conexiones (hikaricp.*) los instrumenta Spring Boot. Todo se publica en /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,107 @@
+package com.alianza.clients.config;
+
+import com.alianza.clients.controller.ReactiveClientHandler;
+import com.alianza.clients.exception.ErrorResponse;
+import com.alianza.clients.exception.ReactiveExceptionHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.core.publisher.Mono;
+
+/**
+ * Servidor Netty de la ruta de lectura reactiva (clients.reactive.enabled=true).
+ * Spring MVC sigue siendo la aplicación web principal; este servidor atiende en clients.reactive.port
+ * las rutas de {@link ReactiveClientHandler} con el mismo ObjectMapper, las mismas respuestas de error,
+ * las mismas métricas http.server.requests y el mismo control de admisión que el servidor principal.
+ */
+@Component
+@ConditionalOnProperty(name = "clients.reactive.enabled", havingValue = "true")
+public class ReactiveWebServer implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveWebServer.class);
+
+    private final WebServer webServer;
+    private volatile boolean running;
+
+    public ReactiveWebServer(ReactiveClientHandler clientHandler, ObjectMapper objectMapper,
+                             ObservationRegistry observationRegistry,
+                             @Qualifier(AdmissionControlConfig.SEARCH) AdmissionControl searchAdmission,
+                             @Value("${clients.reactive.port:8081}") int port) {
+        HandlerStrategies strategies = handlerStrategies(objectMapper);
+        this.webServer = new NettyReactiveWebServerFactory(port).getWebServer(WebHttpHandlerBuilder
+                .webHandler(RouterFunctions.toWebHandler(
+                        clientHandler.routes(new AdmissionControlFilter(searchAdmission))
+                                .filter(ReactiveWebServer::recordPathPattern), strategies))
+                .filters(filters -> filters.addAll(strategies.webFilters()))
+                .exceptionHandlers(handlers -> handlers.addAll(strategies.exceptionHandlers()))
+                .observationRegistry(observationRegistry)
+                .build());
+    }
+
+    /**
+     * Códecs JSON con el ObjectMapper de la aplicación, liberación de los permisos del control de
+     * admisión al terminar cada intercambio y traducción de errores a {@link ErrorResponse}.
+     * Se parte de una configuración vacía para que el manejador de errores por defecto de WebFlux,
+     * que responde sin cuerpo, no se adelante al propio.
+     *
+     * @param objectMapper Mapeador JSON de la aplicación
+     * @return Estrategias de las rutas reactivas
+     */
+    public static HandlerStrategies handlerStrategies(ObjectMapper objectMapper) {
+        return HandlerStrategies.empty()
+                .codecs(codecs -> {
+                    codecs.registerDefaults(true);
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .webFilter(AdmissionControlFilter.releasePermits())
+                .exceptionHandler(new ReactiveExceptionHandler(objectMapper))
+                .build();
+    }
+
+    /**
+     * Anota en la observación de la petición la ruta que ha atendido, para que las métricas
+     * http.server.requests se agrupen por patrón (uri) como en Spring MVC.
+     */
+    private static Mono<ServerResponse> recordPathPattern(ServerRequest request,
+                                                         HandlerFunction<ServerResponse> next) {
+        ServerRequestObservationContext.findCurrent(request.exchange().getAttributes())
+                .ifPresent(context -> request.attribute(RouterFunctions.MATCHING_PATTERN_ATTRIBUTE)
+                        .ifPresent(pattern -> context.setPathPattern(pattern.toString())));
+        return next.handle(request);
+    }
+
+    @Override
+    public void start() {
+        webServer.start();
+        running = true;
+        logger.info("Reactive read API started on port {}", webServer.getPort());
+    }
+
+    @Override
+    public void stop() {
+        webServer.stop();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
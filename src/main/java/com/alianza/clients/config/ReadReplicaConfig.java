@@ -0,0 +1,103 @@
+package com.alianza.clients.config;
+
+import com.alianza.clients.event.ClientsChangedEvent;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Lecturas en réplicas (clients.datasource.replicas.enabled=true). Sustituye el DataSource de
+ * Spring Boot por un {@link ReadWriteRoutingDataSource}: las transacciones de solo lectura
+ * (listados, búsquedas, exportaciones y consultas de los repositorios Spring Data) van a las réplicas
+ * de clients.datasource.replicas.urls, con las credenciales y la configuración HikariCP del primario,
+ * y el resto al primario. El feed de cambios lee siempre del primario.
+ * <p>
+ * Tras un alta o una importación en este nodo las lecturas vuelven al primario durante
+ * clients.datasource.replicas.sticky-window: la API no tiene sesiones, así que la ventana es del nodo.
+ */
+@Configuration
+@ConditionalOnProperty(name = "clients.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+
+    public ReadReplicaConfig(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry,
+                             @Value("${clients.datasource.replicas.urls:}") String[] urls,
+                             @Value("${clients.datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+                             @Value("${clients.datasource.replicas.sticky-window:PT5S}") Duration stickyWindow,
+                             @Value("${clients.datasource.replicas.max-lag:PT10S}") Duration maxLag) {
+        if (urls.length == 0) {
+            throw new IllegalStateException("clients.datasource.replicas.urls es obligatorio con las réplicas activadas");
+        }
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(primary));
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(urls[i].trim())
+                    .username(properties.determineUsername())
+                    .password(properties.determinePassword())
+                    .build();
+            binder.bind(HIKARI_PREFIX, Bindable.ofInstance(replica));
+            replica.setPoolName("clients-replica-" + (i + 1));
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            // Spring Boot solo instrumenta los pools registrados como beans
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(replica.getPoolName(), replica);
+        }
+
+        this.routingDataSource = new ReadWriteRoutingDataSource(primary, replicas, stickyWindow, maxLag, meterRegistry);
+    }
+
+    /**
+     * DataSource de la aplicación. Los pools se cierran en {@link #close()}: el bean puede quedar
+     * envuelto (por ejemplo, por {@link VirtualThreadConfig}) y no exponer el método de cierre.
+     */
+    @Bean(destroyMethod = "")
+    public DataSource dataSource() {
+        return routingDataSource;
+    }
+
+    /**
+     * Inicia la ventana de lectura en el primario tras un alta o una importación.
+     */
+    @EventListener
+    public void onClientsChanged(ClientsChangedEvent event) {
+        routingDataSource.markWrite();
+    }
+
+    @Scheduled(fixedDelayString = "${clients.datasource.replicas.lag-check-interval:PT5S}")
+    public void refreshReplicaLag() {
+        routingDataSource.refreshLag();
+    }
+
+    @PreDestroy
+    public void close() {
+        routingDataSource.close();
+    }
+}
@@ -0,0 +1,183 @@
+package com.alianza.clients.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DataSource que envía las transacciones de solo lectura a las réplicas y el resto al primario.
+ * <p>
+ * La conexión se obtiene al ejecutar la primera sentencia ({@link LazyConnectionDataSourceProxy}),
+ * cuando la transacción ya la ha marcado como de solo lectura. Las lecturas se reparten entre las
+ * réplicas por turnos, saltando las que superan el retraso máximo, y vuelven al primario durante
+ * {@code stickyWindow} tras una escritura para que el cliente lea lo que acaba de escribir.
+ * Las decisiones se publican como clients.datasource.routing y el retraso de cada réplica
+ * como clients.datasource.replica.lag.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy {
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    /**
+     * Retraso de reproducción en segundos; 0 si la réplica ha reproducido todo lo recibido o no es una réplica.
+     */
+    private static final String LAG_QUERY = "select case when not pg_is_in_recovery() "
+            + "or pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 "
+            + "else extract(epoch from now() - pg_last_xact_replay_timestamp()) end";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long stickyWindowNanos;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile long stickyUntil = System.nanoTime();
+
+    private final LongAdder primarySticky = new LongAdder();
+    private final LongAdder primaryLag = new LongAdder();
+
+    /**
+     * @param primary DataSource del primario
+     * @param replicas DataSources de las réplicas por nombre
+     * @param stickyWindow Tiempo tras una escritura durante el que las lecturas van al primario
+     * @param maxLag Retraso máximo de una réplica para recibir lecturas
+     * @param meterRegistry Registro de las métricas de enrutado y retraso
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration stickyWindow,
+                                      Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.stickyWindowNanos = stickyWindow.toNanos();
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+
+        setTargetDataSource(primary);
+        setReadOnlyDataSource(new ReadOnlyRouter());
+        // Valores por defecto de HikariCP y PostgreSQL: no hace falta abrir una conexión para averiguarlos
+        setDefaultAutoCommit(true);
+        setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+
+        registerMeters(meterRegistry);
+    }
+
+    /**
+     * Envía las lecturas al primario durante la ventana configurada a partir de ahora.
+     */
+    public void markWrite() {
+        stickyUntil = System.nanoTime() + stickyWindowNanos;
+    }
+
+    /**
+     * Mide el retraso de cada réplica. Una réplica que no responde se trata como retrasada.
+     */
+    public void refreshLag() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                replica.lagSeconds = resultSet.getDouble(1);
+            } catch (SQLException e) {
+                logger.warn("Could not measure lag of replica {}: {}", replica.name, e.getMessage());
+                replica.lagSeconds = Double.POSITIVE_INFINITY;
+            }
+        }
+    }
+
+    /**
+     * Cierra los DataSources del primario y de las réplicas que lo admiten.
+     */
+    public void close() {
+        List<DataSource> dataSources = new ArrayList<>(replicas.size() + 1);
+        dataSources.add(primary);
+        replicas.forEach(replica -> dataSources.add(replica.dataSource));
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("Could not close data source: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private DataSource route() {
+        if (System.nanoTime() - stickyUntil < 0) {
+            primarySticky.increment();
+            return primary;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.lagSeconds <= maxLagSeconds) {
+                replica.reads.increment();
+                return replica.dataSource;
+            }
+        }
+        primaryLag.increment();
+        return primary;
+    }
+
+    private void registerMeters(MeterRegistry registry) {
+        routingCounter(registry, "primary", "sticky", primarySticky);
+        routingCounter(registry, "primary", "lag", primaryLag);
+        for (Replica replica : replicas) {
+            routingCounter(registry, replica.name, "replica", replica.reads);
+            Gauge.builder("clients.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Retraso de reproducción de la réplica")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name)
+                    .register(registry);
+        }
+    }
+
+    private static void routingCounter(MeterRegistry registry, String target, String reason, LongAdder count) {
+        FunctionCounter.builder("clients.datasource.routing", count, LongAdder::sum)
+                .description("Conexiones de solo lectura por destino y motivo")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final LongAdder reads = new LongAdder();
+        private volatile double lagSeconds;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    /**
+     * Destino de las conexiones de solo lectura: elige la réplica (o el primario) en cada conexión.
+     */
+    private final class ReadOnlyRouter extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return route().getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return route().getConnection(username, password);
+        }
+    }
+}
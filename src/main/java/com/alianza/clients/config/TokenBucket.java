@@ -0,0 +1,42 @@
+package com.alianza.clients.config;
+
+/**
+ * Cubo de fichas: admite ráfagas de hasta {@code burst} peticiones y se rellena a {@code ratePerSecond}
+ * fichas por segundo.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefill = System.nanoTime();
+
+    TokenBucket(double ratePerSecond, int burst) {
+        this.capacity = Math.max(burst, 1);
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+    }
+
+    /**
+     * Intenta tomar una ficha.
+     *
+     * @return 0 si se ha tomado; si no, nanosegundos hasta que haya una disponible
+     */
+    synchronized long tryAcquire() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    /**
+     * Devuelve una ficha tomada por una petición que finalmente no se ha admitido.
+     */
+    synchronized void refund() {
+        tokens = Math.min(capacity, tokens + 1);
+    }
+}
@@ -1,8 +1,19 @@
 package com.alianza.clients.controller;
 
+import com.alianza.clients.dto.BulkImportResultDTO;
+import com.alianza.clients.dto.ClientChangesDTO;
 import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.dto.ClientPageDTO;
+import com.alianza.clients.dto.ExportJobDTO;
 import com.alianza.clients.dto.ClientSearchCriteria;
+import com.alianza.clients.dto.ClientsVersion;
+import com.alianza.clients.dto.Versioned;
+import com.alianza.clients.service.IClientChangeService;
+import com.alianza.clients.service.IClientImportService;
 import com.alianza.clients.service.IClientService;
+import com.alianza.clients.service.IExportJobService;
+import com.alianza.clients.service.export.ClientExporter;
+import com.alianza.clients.service.export.ClientExporterRegistry;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 
@@ -13,14 +24,24 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
 import com.alianza.clients.exception.ExportException;
 
 /**
  * Controlador REST para la gestión de clientes.
  * Proporciona endpoints para realizar operaciones CRUD sobre clientes.
+ * Los listados GET responden con un ETag débil y Last-Modified de la versión de los clientes leída junto con
+ * el resultado, y devuelven 304 sin leer las filas si If-None-Match contiene la versión actual.
  */
 @Slf4j
 @RestController
@@ -29,36 +50,129 @@ import com.alianza.clients.exception.ExportException;
 @CrossOrigin(origins = "*")
 public class ClientController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
     private final IClientService clientService;
+    private final IClientImportService clientImportService;
+    private final IExportJobService exportJobService;
+    private final IClientChangeService clientChangeService;
+    private final ClientExporterRegistry exporterRegistry;
 
     /**
      * Constructor con inyección de dependencias.
      *
      * @param clientService Servicio de clientes
+     * @param clientImportService Servicio de importación masiva de clientes
+     * @param exportJobService Servicio de exportaciones asíncronas
+     * @param clientChangeService Servicio del feed de cambios de clientes
+     * @param exporterRegistry Formatos de exportación disponibles
      */
-    public ClientController(IClientService clientService) {
+    public ClientController(IClientService clientService, IClientImportService clientImportService,
+                            IExportJobService exportJobService, IClientChangeService clientChangeService,
+                            ClientExporterRegistry exporterRegistry) {
         this.clientService = clientService;
+        this.clientImportService = clientImportService;
+        this.exportJobService = exportJobService;
+        this.clientChangeService = clientChangeService;
+        this.exporterRegistry = exporterRegistry;
     }
 
     /**
      * Obtiene todos los clientes registrados.
      *
-     * @return ResponseEntity con la lista de clientes
+     * @param request Petición HTTP, para las cabeceras condicionales
+     * @return ResponseEntity con la lista de clientes, o 304 si el cliente ya tiene la versión actual
      */
     @GetMapping
-    public ResponseEntity<List<ClientDTO>> getAllClients() {
-        return ResponseEntity.ok(clientService.getAllClients());
+    public ResponseEntity<List<ClientDTO>> getAllClients(WebRequest request) {
+        return conditional(request, clientService::getAllClients);
+    }
+
+    /**
+     * Obtiene una página de clientes ordenada por fecha de creación.
+     *
+     * @param cursor Token de continuación de la página anterior
+     * @param size Tamaño de la página
+     * @param request Petición HTTP, para las cabeceras condicionales
+     * @return ResponseEntity con la página de clientes, o 304 si el cliente ya tiene la versión actual
+     */
+    @GetMapping("/page")
+    public ResponseEntity<ClientPageDTO> getClientsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            WebRequest request) {
+        return conditional(request, () -> clientService.getClientsPage(cursor, size));
+    }
+
+    /**
+     * Vuelca todos los clientes en formato NDJSON, un objeto JSON por línea.
+     * Las filas se leen con un cursor de base de datos y se escriben a medida que el cliente
+     * HTTP las consume, por lo que la memoria utilizada no depende del número de clientes.
+     * La respuesta se comprime con gzip si el cliente lo admite.
+     *
+     * @param acceptEncoding Codificaciones admitidas por el cliente
+     * @return ResponseEntity con el flujo de clientes
+     */
+    @GetMapping(value = "/stream", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamClients(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        StreamingResponseBody body = outputStream -> {
+            try {
+                if (gzip) {
+                    GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+                    clientService.streamClients(gzipStream);
+                    gzipStream.finish();
+                } else {
+                    clientService.streamClients(outputStream);
+                }
+            } catch (IOException e) {
+                log.error("Error al transmitir clientes: {}", e.getMessage(), e);
+                throw new ExportException("Error al transmitir clientes: " + e.getMessage());
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Obtiene los clientes creados o modificados después de una marca de agua, ordenados por
+     * transacción de escritura e id. Si wait es mayor que cero y no hay cambios, la petición queda en espera
+     * hasta que se registren nuevos clientes o venza el plazo (long-poll).
+     *
+     * @param since Marca de agua devuelta por la consulta anterior
+     * @param limit Número máximo de clientes de la respuesta
+     * @param wait Segundos de espera de nuevos cambios
+     * @return Cambios y marca de agua para la siguiente consulta
+     */
+    @GetMapping("/changes")
+    public CompletableFuture<ResponseEntity<ClientChangesDTO>> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit,
+            @RequestParam(defaultValue = "0") long wait) {
+        return clientChangeService.getChanges(since, limit, Duration.ofSeconds(wait))
+                .thenApply(ResponseEntity::ok);
     }
 
     /**
      * Busca clientes por el campo sharedKey.
      *
      * @param sharedKey sharedKey a buscar
-     * @return ResponseEntity con la lista de clientes que coinciden
+     * @param request Petición HTTP, para las cabeceras condicionales
+     * @return ResponseEntity con la lista de clientes que coinciden, o 304 si el cliente ya tiene la versión actual
      */
     @GetMapping("/search")
-    public ResponseEntity<List<ClientDTO>> searchClientsBySharedKey(@RequestParam String sharedKey) {
-        return ResponseEntity.ok(clientService.searchClientsBySharedKey(sharedKey));
+    public ResponseEntity<List<ClientDTO>> searchClientsBySharedKey(@RequestParam String sharedKey,
+                                                                    WebRequest request) {
+        return conditional(request, () -> clientService.searchClientsBySharedKey(sharedKey));
     }
 
     /**
@@ -72,6 +186,22 @@ public class ClientController {
         return new ResponseEntity<>(clientService.createClient(clientDTO), HttpStatus.CREATED);
     }
 
+    /**
+     * Importa clientes de forma masiva desde un archivo CSV (columnas name, email, phone) o NDJSON.
+     * Las filas con errores se reportan en la respuesta sin detener la importación.
+     *
+     * @param contentType Tipo de contenido del archivo
+     * @param body Contenido del archivo
+     * @return ResponseEntity con el resumen de la importación
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    @PostMapping(value = "/bulk", consumes = {"text/csv", NDJSON_VALUE})
+    public ResponseEntity<BulkImportResultDTO> importClients(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) throws IOException {
+        String format = contentType.isCompatibleWith(MediaType.parseMediaType(NDJSON_VALUE)) ? "NDJSON" : "CSV";
+        return ResponseEntity.ok(clientImportService.importClients(body, format));
+    }
+
     /**
      * Realiza una búsqueda avanzada de clientes según los criterios especificados.
      *
@@ -83,27 +213,130 @@ public class ClientController {
         return ResponseEntity.ok(clientService.searchClients(criteria));
     }
 
+    /**
+     * Realiza una búsqueda avanzada paginada de clientes según los criterios especificados.
+     *
+     * @param criteria Criterios de búsqueda
+     * @param cursor Token de continuación de la página anterior
+     * @param size Tamaño de la página
+     * @return ResponseEntity con la página de clientes que coinciden con los criterios
+     */
+    @PostMapping("/search/advanced/page")
+    public ResponseEntity<ClientPageDTO> searchClientsPage(
+            @RequestBody ClientSearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(clientService.searchClientsPage(criteria, cursor, size));
+    }
+
     /**
      * Exporta los clientes que coinciden con los criterios de búsqueda al formato especificado.
+     * El archivo se escribe directamente en la respuesta a medida que se leen los clientes.
      *
      * @param criteria Criterios de búsqueda y formato de exportación
      * @return ResponseEntity con el archivo exportado
      */
     @PostMapping("/export")
-    public ResponseEntity<Resource> exportClients(@RequestBody ClientSearchCriteria criteria) {
-        try {
-            Resource resource = clientService.exportClients(criteria);
-            String filename = "clients." + criteria.getExportFormat().toLowerCase();
-            String contentType = criteria.getExportFormat().equalsIgnoreCase("CSV") ?
-                    "text/csv" : "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
-
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                    .body(resource);
-        } catch (IOException e) {
-            log.error("Error al exportar clientes: {}", e.getMessage(), e);
-            throw new ExportException("Error al exportar clientes: " + e.getMessage());
+    public ResponseEntity<StreamingResponseBody> exportClients(@RequestBody ClientSearchCriteria criteria) {
+        ClientExporter exporter = exporterRegistry.get(criteria.getExportFormat());
+        String filename = "clients." + exporter.fileExtension();
+
+        StreamingResponseBody body = outputStream -> {
+            try {
+                clientService.exportClients(criteria, outputStream);
+            } catch (IOException e) {
+                log.error("Error al exportar clientes: {}", e.getMessage(), e);
+                throw new ExportException("Error al exportar clientes: " + e.getMessage());
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exporter.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    /**
+     * Inicia una exportación asíncrona de los clientes que coinciden con los criterios.
+     *
+     * @param criteria Criterios de búsqueda y formato de exportación
+     * @return ResponseEntity con el estado inicial del trabajo de exportación
+     */
+    @PostMapping("/export/jobs")
+    public ResponseEntity<ExportJobDTO> submitExportJob(@RequestBody ClientSearchCriteria criteria) {
+        exporterRegistry.get(criteria.getExportFormat());
+        ExportJobDTO job = exportJobService.submitExport(criteria);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/clients/export/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    /**
+     * Consulta el estado y avance de una exportación asíncrona.
+     *
+     * @param jobId Identificador del trabajo de exportación
+     * @return ResponseEntity con el estado del trabajo
+     */
+    @GetMapping("/export/jobs/{jobId}")
+    public ResponseEntity<ExportJobDTO> getExportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(exportJobService.getExportJob(jobId));
+    }
+
+    /**
+     * Descarga el archivo de una exportación asíncrona finalizada.
+     * Admite peticiones parciales mediante la cabecera Range.
+     *
+     * @param jobId Identificador del trabajo de exportación
+     * @return ResponseEntity con el archivo exportado
+     */
+    @GetMapping("/export/jobs/{jobId}/file")
+    public ResponseEntity<Resource> downloadExportJob(@PathVariable String jobId) {
+        ExportJobDTO job = exportJobService.getExportJob(jobId);
+        Resource resource = exportJobService.getExportFile(jobId);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exporterRegistry.get(job.getExportFormat()).contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + resource.getFilename() + "\"")
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .body(resource);
+    }
+
+    /**
+     * Responde 304 sin cargar el resultado si If-None-Match contiene la versión actual de los clientes.
+     * Si no, carga el resultado y lo etiqueta con la versión leída junto a él, no con la actual: una
+     * versión cacheada más reciente que el resultado haría que el cliente revalidara con 304 un cuerpo
+     * antiguo. Spring MVC evalúa después If-None-Match e If-Modified-Since sobre esas cabeceras.
+     */
+    private <T> ResponseEntity<T> conditional(WebRequest request, Supplier<Versioned<T>> loader) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            ClientsVersion current = clientService.getClientsVersion();
+            if (current.matches(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current.etag()).build();
+            }
+        }
+
+        Versioned<T> result = loader.get();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(result.version().etag());
+        if (result.version().lastModifiedMillis() >= 0) {
+            response.lastModified(result.version().lastModifiedMillis());
+        }
+        return response.body(result.body());
+    }
+
+    /**
+     * Indica si la cabecera Accept-Encoding admite gzip (y no lo excluye con q=0).
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
         }
+        return false;
     }
 }
\ No newline at end of file
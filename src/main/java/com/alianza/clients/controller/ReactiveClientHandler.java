@@ -0,0 +1,107 @@
+package com.alianza.clients.controller;
+
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.dto.ClientSearchCriteria;
+import com.alianza.clients.exception.BadRequestException;
+import com.alianza.clients.exception.ResourceNotFoundException;
+import com.alianza.clients.repository.LikePatterns;
+import com.alianza.clients.repository.ReactiveClientRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Handlers WebFlux de la ruta de lectura reactiva, equivalentes a los endpoints de consulta de
+ * {@link ClientController}. Se sirven en su propio puerto (clients.reactive.port) y ningún hilo queda
+ * bloqueado mientras se espera a la base de datos.
+ * <p>
+ * Las respuestas son un array JSON o, si el cliente acepta application/x-ndjson, un objeto por línea;
+ * en ambos casos se escriben a medida que llegan las filas. A diferencia de GET /api/clients en
+ * Spring MVC, el listado completo no se cachea.
+ */
+@Component
+@ConditionalOnProperty(name = "clients.reactive.enabled", havingValue = "true")
+public class ReactiveClientHandler {
+
+    private static final String BASE_PATH = "/api/clients";
+
+    private final ReactiveClientRepository clientRepository;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param clientRepository Consultas reactivas de clientes
+     */
+    public ReactiveClientHandler(ReactiveClientRepository clientRepository) {
+        this.clientRepository = clientRepository;
+    }
+
+    /**
+     * Rutas de la API reactiva.
+     *
+     * @param advancedSearchFilter Control de admisión de la búsqueda avanzada, el mismo que en Spring MVC
+     */
+    public RouterFunction<ServerResponse> routes(HandlerFilterFunction<ServerResponse, ServerResponse> advancedSearchFilter) {
+        return RouterFunctions.route()
+                .GET(BASE_PATH, this::getAllClients)
+                .GET(BASE_PATH + "/search", this::searchClientsBySharedKey)
+                .add(RouterFunctions.route(RequestPredicates.POST(BASE_PATH + "/search/advanced"), this::searchClients)
+                        .filter(advancedSearchFilter))
+                .build();
+    }
+
+    /**
+     * Obtiene todos los clientes registrados.
+     *
+     * @param request Petición HTTP
+     * @return Respuesta con el flujo de clientes
+     */
+    public Mono<ServerResponse> getAllClients(ServerRequest request) {
+        return ok(request, clientRepository.findAll());
+    }
+
+    /**
+     * Busca clientes por el campo sharedKey. Si no hay coincidencias responde 404, como Spring MVC:
+     * el error llega antes que el primer elemento, cuando la respuesta todavía no se ha confirmado.
+     *
+     * @param request Petición HTTP con el parámetro sharedKey
+     * @return Respuesta con el flujo de clientes que coinciden
+     */
+    public Mono<ServerResponse> searchClientsBySharedKey(ServerRequest request) {
+        String sharedKey = request.queryParam("sharedKey").orElse(null);
+        if (sharedKey == null) {
+            return Mono.error(new BadRequestException("El parámetro sharedKey es obligatorio"));
+        }
+        Flux<ClientDTO> clients = clientRepository.findBySharedKeyLike(LikePatterns.containsPattern(sharedKey))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Cliente", "sharedKey", sharedKey)));
+        return ok(request, clients);
+    }
+
+    /**
+     * Realiza una búsqueda avanzada de clientes según los criterios del cuerpo de la petición.
+     *
+     * @param request Petición HTTP con los criterios de búsqueda
+     * @return Respuesta con el flujo de clientes que coinciden con los criterios
+     */
+    public Mono<ServerResponse> searchClients(ServerRequest request) {
+        Flux<ClientDTO> clients = request.bodyToMono(ClientSearchCriteria.class)
+                .switchIfEmpty(Mono.error(() -> new BadRequestException("Los criterios de búsqueda son obligatorios")))
+                .flatMapMany(clientRepository::search);
+        return ok(request, clients);
+    }
+
+    private static Mono<ServerResponse> ok(ServerRequest request, Flux<ClientDTO> clients) {
+        MediaType contentType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(contentType).body(clients, ClientDTO.class);
+    }
+}
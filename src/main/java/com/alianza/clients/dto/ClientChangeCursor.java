@@ -0,0 +1,51 @@
+package com.alianza.clients.dto;
+
+import com.alianza.clients.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Marca de agua del feed de cambios: posición dentro del recorrido ordenado por (changeXid, id).
+ * Se intercambia con el cliente como un token opaco codificado en Base64 URL-safe.
+ *
+ * @param changeXid Transacción que escribió el último cliente entregado
+ * @param id Identificador del último cliente entregado
+ */
+public record ClientChangeCursor(long changeXid, String id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Codifica la marca de agua como token opaco.
+     *
+     * @return Token que representa la marca de agua
+     */
+    public String encode() {
+        String raw = changeXid + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token generado por {@link #encode()}.
+     *
+     * @param token Token recibido del cliente
+     * @return Marca de agua decodificada, o null si el token es nulo o vacío
+     * @throws BadRequestException si el token no es válido
+     */
+    public static ClientChangeCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new BadRequestException("Marca de agua inválida: " + token);
+            }
+            return new ClientChangeCursor(Long.parseLong(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Marca de agua inválida: " + token);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.alianza.clients.dto;
+
+/**
+ * Horizonte del feed de cambios y versión de los clientes leídos en la misma instantánea.
+ *
+ * @param xid xmin de la instantánea: las filas con changeXid menor ya no cambian de posición en el feed
+ * @param version Versión de los clientes si no había transacciones en curso, o null en otro caso.
+ *                Solo entonces cubre exactamente las filas anteriores al horizonte.
+ */
+public record ClientChangeHorizon(long xid, ClientsVersion version) {
+}
@@ -0,0 +1,19 @@
+package com.alianza.clients.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Fila proyectada del feed de cambios: los datos del cliente, con la fecha de creación ya
+ * convertida en SQL, y la transacción que lo escribió, necesaria para la marca de agua siguiente.
+ */
+public record ClientChangeRow(String id, String sharedKey, String name, String email, String phone,
+                              LocalDate createdDate, Long changeXid) {
+
+    public ClientDTO toDTO() {
+        return new ClientDTO(id, sharedKey, name, email, phone, createdDate);
+    }
+
+    public ClientChangeCursor cursor() {
+        return new ClientChangeCursor(changeXid, id);
+    }
+}
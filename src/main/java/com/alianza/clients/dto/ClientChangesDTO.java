@@ -0,0 +1,26 @@
+package com.alianza.clients.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientChangesDTO {
+    private List<ClientDTO> content;
+
+    private int size;
+
+    /**
+     * Marca de agua a enviar como since en la siguiente consulta. Si no hay cambios se
+     * devuelve la misma que se recibió.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String watermark;
+}
@@ -0,0 +1,10 @@
+package com.alianza.clients.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fechas de creación mínima y máxima de los clientes que cumplen unos criterios.
+ * Ambas son null si ningún cliente tiene fecha de creación.
+ */
+public record ClientCreatedAtRange(LocalDateTime min, LocalDateTime max) {
+}
@@ -0,0 +1,53 @@
+package com.alianza.clients.dto;
+
+import com.alianza.clients.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición dentro del recorrido de clientes ordenado por (createdAt, id).
+ * Se intercambia con el cliente como un token opaco codificado en Base64 URL-safe.
+ *
+ * @param createdAt Fecha de creación del último cliente entregado
+ * @param id Identificador del último cliente entregado
+ */
+public record ClientCursor(LocalDateTime createdAt, String id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Codifica el cursor como token opaco.
+     *
+     * @return Token que representa el cursor
+     */
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token generado por {@link #encode()}.
+     *
+     * @param token Token recibido del cliente
+     * @return Cursor decodificado, o null si el token es nulo o vacío
+     * @throws BadRequestException si el token no es válido
+     */
+    public static ClientCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new BadRequestException("Cursor de paginación inválido: " + token);
+            }
+            return new ClientCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Cursor de paginación inválido: " + token);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.alianza.clients.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Fila proyectada de un recorrido por cursor: los datos del cliente, con la fecha de creación
+ * ya convertida en SQL, y la marca de tiempo de la columna de ordenación (created_at)
+ * necesaria para el cursor siguiente.
+ */
+public record ClientKeysetRow(String id, String sharedKey, String name, String email, String phone,
+                              LocalDate createdDate, LocalDateTime seekTimestamp) {
+
+    public ClientDTO toDTO() {
+        return new ClientDTO(id, sharedKey, name, email, phone, createdDate);
+    }
+
+    public ClientCursor cursor() {
+        return new ClientCursor(seekTimestamp, id);
+    }
+}
@@ -17,5 +17,5 @@ public class ClientSearchCriteria {
     private String phone;
     private LocalDate startDate;
     private LocalDate endDate;
-    private String exportFormat; // CSV or EXCEL
+    private String exportFormat; // CSV, CSV_GZIP, EXCEL or PARQUET
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.alianza.clients.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Versión de la tabla de clientes: contador de sentencias de escritura y fecha de la última.
+ * Cambia con cada alta, modificación o borrado confirmado, por lo que sirve de validador de las
+ * respuestas de los listados sin tener que leer ni serializar las filas.
+ *
+ * @param version Contador de escrituras de la tabla client
+ * @param lastModified Fecha de la última escritura, o null si se desconoce
+ */
+public record ClientsVersion(long version, LocalDateTime lastModified) {
+
+    /**
+     * ETag débil derivado de la versión. Es débil porque la versión identifica el estado de la
+     * tabla y no los bytes del cuerpo: un listado puede incluir además altas locales posteriores
+     * y cada nodo serializa el suyo. Además, Tomcat no comprime las respuestas con ETag fuerte.
+     */
+    public String etag() {
+        return "W/" + opaqueTag();
+    }
+
+    /**
+     * Indica si alguna de las etiquetas de una cabecera If-None-Match corresponde a esta versión.
+     * Como en la comparación débil de If-None-Match, se ignora el prefijo W/.
+     *
+     * @param ifNoneMatch Valor de la cabecera If-None-Match
+     */
+    public boolean matches(String ifNoneMatch) {
+        String etag = opaqueTag();
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String opaqueTag() {
+        return "\"" + version + "-" + Long.toHexString(lastModifiedMillis()) + "\"";
+    }
+
+    /**
+     * Última fecha de modificación en milisegundos desde epoch, o -1 si se desconoce.
+     */
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
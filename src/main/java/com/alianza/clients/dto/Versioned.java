@@ -0,0 +1,14 @@
+package com.alianza.clients.dto;
+
+/**
+ * Resultado de una consulta junto con la versión de los clientes leída antes que él en la misma
+ * transacción. El resultado refleja al menos esa versión, así que el ETag derivado de ella nunca
+ * anuncia datos que la respuesta no contiene; puede incluir cambios posteriores, por lo que ese
+ * ETag es débil. Se cachean juntos para que no puedan divergir.
+ *
+ * @param version Versión de los clientes leída antes del resultado
+ * @param body Resultado de la consulta
+ * @param <T> Tipo del resultado
+ */
+public record Versioned<T>(ClientsVersion version, T body) {
+}
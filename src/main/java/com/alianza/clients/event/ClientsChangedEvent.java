@@ -0,0 +1,9 @@
+package com.alianza.clients.event;
+
+/**
+ * Evento publicado cuando se crean o modifican clientes.
+ *
+ * @param count Número de clientes afectados
+ */
+public record ClientsChangedEvent(long count) {
+}
@@ -0,0 +1,92 @@
+package com.alianza.clients.exception;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebExceptionHandler;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Traduce las excepciones de la ruta reactiva a la misma respuesta de error que
+ * {@link GlobalExceptionHandler} genera en Spring MVC.
+ */
+public class ReactiveExceptionHandler implements WebExceptionHandler {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveExceptionHandler.class);
+
+    private final ObjectMapper objectMapper;
+
+    public ReactiveExceptionHandler(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
+        ServerHttpResponse response = exchange.getResponse();
+        // Con la respuesta ya confirmada solo se puede cortar la conexión
+        if (response.isCommitted()) {
+            return Mono.error(ex);
+        }
+
+        HttpStatusCode status;
+        String message;
+        switch (ex) {
+            case ResourceNotFoundException notFound -> {
+                logger.error("Resource not found exception: {}", ex.getMessage());
+                status = HttpStatus.NOT_FOUND;
+                message = notFound.getMessage();
+            }
+            case BadRequestException badRequest -> {
+                logger.error("Bad request exception: {}", ex.getMessage());
+                status = HttpStatus.BAD_REQUEST;
+                message = badRequest.getMessage();
+            }
+            case TooManyRequestsException tooManyRequests -> {
+                logger.warn("Too many requests: {}", ex.getMessage());
+                status = HttpStatus.TOO_MANY_REQUESTS;
+                message = tooManyRequests.getMessage();
+                // Como en Spring MVC: segundos enteros, redondeados hacia arriba
+                long retryAfterSeconds = Math.max(1, (tooManyRequests.getRetryAfter().toMillis() + 999) / 1000);
+                response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            }
+            case ResponseStatusException statusException -> {
+                logger.error("Request error: {}", ex.getMessage());
+                status = statusException.getStatusCode();
+                message = statusException.getReason();
+            }
+            default -> {
+                logger.error("Unhandled exception: ", ex);
+                status = HttpStatus.INTERNAL_SERVER_ERROR;
+                message = "Se produjo un error inesperado";
+            }
+        }
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status instanceof HttpStatus httpStatus ? httpStatus.getReasonPhrase() : null)
+                .message(message)
+                .path(exchange.getRequest().getPath().value())
+                .build();
+
+        DataBuffer body;
+        try {
+            body = response.bufferFactory().wrap(objectMapper.writeValueAsBytes(errorResponse));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(body));
+    }
+}
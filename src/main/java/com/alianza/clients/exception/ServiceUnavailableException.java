@@ -0,0 +1,21 @@
+package com.alianza.clients.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción que se lanza cuando el servicio no puede aceptar más trabajo en este momento.
+ * Esta excepción se mapea a una respuesta HTTP 503 (Service Unavailable).
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceUnavailableException extends RuntimeException {
+
+    /**
+     * Constructor con mensaje personalizado.
+     *
+     * @param message Mensaje de error
+     */
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
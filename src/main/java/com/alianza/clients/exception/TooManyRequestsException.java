@@ -0,0 +1,31 @@
+package com.alianza.clients.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+/**
+ * Excepción que se lanza cuando una petición supera el límite de tasa o de concurrencia de su endpoint.
+ * Esta excepción se mapea a una respuesta HTTP 429 (Too Many Requests) con la cabecera Retry-After.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Constructor con mensaje personalizado.
+     *
+     * @param message Mensaje de error
+     * @param retryAfter Tiempo tras el que se recomienda reintentar
+     */
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
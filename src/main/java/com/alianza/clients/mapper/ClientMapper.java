@@ -11,5 +11,8 @@ public interface ClientMapper {
     ClientDTO toDTO(Client client);
     
     @Mapping(target = "createdAt", ignore = true)    
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "changeXid", ignore = true)
+    @Mapping(target = "persisted", ignore = true)
     Client toEntity(ClientDTO clientDTO);
 }
\ No newline at end of file
@@ -4,10 +4,16 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 
@@ -16,13 +22,24 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "client")
-public class Client {
+@Table(name = "client", indexes = {
+        @Index(name = "idx_client_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_client_change_xid_id", columnList = "change_xid, id")
+})
+public class Client implements Persistable<String> {
+    /**
+     * Restricciones únicas de client_key: la tabla client está particionada por mes de created_at
+     * y sus claves únicas tendrían que incluirlo, así que la unicidad global la comprueba el
+     * disparador que registra las claves de cada cliente insertado (migración V4).
+     */
+    public static final String SHARED_KEY_CONSTRAINT = "uk_client_shared_key";
+    public static final String EMAIL_CONSTRAINT = "uk_client_email";
+
     @Id
     private String id;
 
     @NotBlank(message = "Shared key is required")
-    @Column(name = "shared_key", nullable = false, unique = true)
+    @Column(name = "shared_key", nullable = false)
     private String sharedKey;
 
     @NotBlank(message = "Name is required")
@@ -31,18 +48,50 @@ public class Client {
 
     @Email(message = "Invalid email format")
     @NotBlank(message = "Email is required")
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
     
     @Pattern(regexp = "\\d{10}", message = "Phone number must be 10 digits")
     @Column(length = 50)
     private String phone;
 
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    /**
+     * Fecha de la última modificación y transacción que la escribió, asignadas por el disparador
+     * de client (migración V6). change_xid ordena el feed de cambios por confirmación.
+     */
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "change_xid", insertable = false, updatable = false)
+    private Long changeXid;
+
+    /**
+     * Indica si la entidad ya existe en base de datos. Como el id se asigna en la
+     * aplicación, sin esta marca Spring Data haría un merge (SELECT previo) en cada save.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
     }
+
+    @PostPersist
+    @PostLoad
+    protected void markPersisted() {
+        this.persisted = true;
+    }
 }
\ No newline at end of file
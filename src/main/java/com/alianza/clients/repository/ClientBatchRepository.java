@@ -0,0 +1,83 @@
+package com.alianza.clients.repository;
+
+import com.alianza.clients.model.Client;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Repositorio JDBC para inserciones masivas de clientes.
+ * Cada lote se envía como un único INSERT de múltiples filas, evitando el contexto de persistencia.
+ */
+@Repository
+@Timed(value = "clients.repository.batch", description = "Tiempo de las inserciones masivas")
+public class ClientBatchRepository {
+
+    /**
+     * Máximo de filas por sentencia: PostgreSQL admite 32767 parámetros y cada fila usa 6.
+     */
+    public static final int MAX_BATCH_SIZE = 4500;
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO client (id, shared_key, name, email, phone, created_at) VALUES ";
+    private static final String INSERT_SUFFIX = " RETURNING shared_key";
+    /**
+     * Hace que el disparador de client_key omita las filas con claves repetidas en lugar de fallar:
+     * en la tabla particionada ON CONFLICT no ve las restricciones únicas de client_key.
+     */
+    private static final String SKIP_DUPLICATE_KEYS = "select set_config('clients.skip_duplicate_keys', 'on', true)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClientBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserta los clientes en una sola sentencia, omitiendo los que violen una restricción única.
+     *
+     * @param clients Clientes a insertar, como máximo {@link #MAX_BATCH_SIZE}
+     * @return sharedKeys de los clientes efectivamente insertados
+     */
+    @Transactional
+    public Set<String> insertIgnoringDuplicates(List<Client> clients) {
+        if (clients.isEmpty()) {
+            return Set.of();
+        }
+        if (clients.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("El lote supera el máximo de " + MAX_BATCH_SIZE + " filas");
+        }
+
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + clients.size() * 16 + INSERT_SUFFIX.length())
+                .append(INSERT_PREFIX);
+        for (int i = 0; i < clients.size(); i++) {
+            sql.append(i == 0 ? "(?,?,?,?,?,?)" : ",(?,?,?,?,?,?)");
+        }
+        sql.append(INSERT_SUFFIX);
+
+        jdbcTemplate.queryForObject(SKIP_DUPLICATE_KEYS, String.class);
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        Set<String> inserted = new HashSet<>(clients.size() * 2);
+        jdbcTemplate.query(sql.toString(), ps -> {
+            int index = 1;
+            for (Client client : clients) {
+                ps.setString(index++, client.getId());
+                ps.setString(index++, client.getSharedKey());
+                ps.setString(index++, client.getName());
+                ps.setString(index++, client.getEmail());
+                ps.setString(index++, client.getPhone());
+                ps.setTimestamp(index++, createdAt);
+            }
+        }, rs -> {
+            inserted.add(rs.getString(1));
+        });
+        return inserted;
+    }
+}
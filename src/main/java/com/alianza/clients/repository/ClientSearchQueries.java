@@ -0,0 +1,257 @@
+package com.alianza.clients.repository;
+
+import com.alianza.clients.dto.ClientCreatedAtRange;
+import com.alianza.clients.dto.ClientCursor;
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.dto.ClientKeysetRow;
+import com.alianza.clients.dto.ClientSearchCriteria;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sentencias canónicas de la búsqueda de clientes.
+ * <p>
+ * Cada combinación de criterios informados (la "forma" de la búsqueda) y de proyección se traduce
+ * siempre a la misma sentencia JPQL con parámetros, de modo que el número de sentencias distintas
+ * está acotado. Los valores nunca forman parte del texto: Hibernate reutiliza la consulta compilada
+ * de su caché de planes y PostgreSQL puede reutilizar la sentencia preparada en el servidor.
+ * Los aciertos y fallos de la caché de sentencias se publican como clients.search.statements.
+ */
+@Component
+public class ClientSearchQueries implements MeterBinder {
+
+    private static final int NAME = 1;
+    private static final int EMAIL = 1 << 1;
+    private static final int PHONE = 1 << 2;
+    private static final int START_DATE = 1 << 3;
+    private static final int END_DATE = 1 << 4;
+    private static final int AFTER = 1 << 5;
+    private static final int RANGE_FROM = 1 << 6;
+    private static final int RANGE_TO = 1 << 7;
+    private static final int SHAPES = 1 << 8;
+
+    /**
+     * Proyecciones de la búsqueda; cada una con su cláusula select y, si aplica, su orden.
+     */
+    private enum Projection {
+        DTO("select new com.alianza.clients.dto.ClientDTO(c.id, c.sharedKey, c.name, c.email, c.phone, "
+                + "cast(c.createdAt as LocalDate)) from Client c", ""),
+        KEYSET("select new com.alianza.clients.dto.ClientKeysetRow(c.id, c.sharedKey, c.name, c.email, c.phone, "
+                + "cast(c.createdAt as LocalDate), c.createdAt) from Client c", " order by c.createdAt, c.id"),
+        CREATED_AT_RANGE("select new com.alianza.clients.dto.ClientCreatedAtRange(min(c.createdAt), max(c.createdAt)) "
+                + "from Client c", "");
+
+        private final String select;
+        private final String orderBy;
+
+        Projection(String select, String orderBy) {
+            this.select = select;
+            this.orderBy = orderBy;
+        }
+    }
+
+    private final AtomicReferenceArray<String> statements =
+            new AtomicReferenceArray<>(Projection.values().length * SHAPES);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Crea la consulta de búsqueda proyectada sobre DTO, sin orden.
+     *
+     * @param entityManager EntityManager de la transacción actual
+     * @param criteria Criterios de búsqueda, o null para todos los clientes
+     * @return Consulta con los parámetros ya asignados
+     */
+    public TypedQuery<ClientDTO> dtoQuery(EntityManager entityManager, ClientSearchCriteria criteria) {
+        return dtoQuery(entityManager, criteria, null, null);
+    }
+
+    /**
+     * Crea la consulta de búsqueda proyectada sobre DTO limitada a un rango de fechas de creación.
+     * Un rango sin límite inferior incluye también los clientes sin fecha de creación, de modo que
+     * una partición completa del rango no pierde filas.
+     *
+     * @param entityManager EntityManager de la transacción actual
+     * @param criteria Criterios de búsqueda, o null para todos los clientes
+     * @param from Inicio del rango (incluido), o null para no acotarlo
+     * @param to Fin del rango (excluido), o null para no acotarlo
+     * @return Consulta con los parámetros ya asignados
+     */
+    public TypedQuery<ClientDTO> dtoQuery(EntityManager entityManager, ClientSearchCriteria criteria,
+                                          LocalDateTime from, LocalDateTime to) {
+        int shape = shapeOf(criteria) | (from != null ? RANGE_FROM : 0) | (to != null ? RANGE_TO : 0);
+        TypedQuery<ClientDTO> query = entityManager.createQuery(statement(Projection.DTO, shape), ClientDTO.class);
+        bind(query, shape, criteria, null);
+        if (from != null) {
+            query.setParameter("rangeFrom", from);
+        }
+        if (to != null) {
+            query.setParameter("rangeTo", to);
+        }
+        return query;
+    }
+
+    /**
+     * Crea la consulta de las fechas de creación mínima y máxima de los clientes que cumplen los criterios.
+     *
+     * @param entityManager EntityManager de la transacción actual
+     * @param criteria Criterios de búsqueda, o null para todos los clientes
+     * @return Consulta con los parámetros ya asignados
+     */
+    public TypedQuery<ClientCreatedAtRange> createdAtRangeQuery(EntityManager entityManager,
+                                                                ClientSearchCriteria criteria) {
+        int shape = shapeOf(criteria);
+        TypedQuery<ClientCreatedAtRange> query = entityManager.createQuery(
+                statement(Projection.CREATED_AT_RANGE, shape), ClientCreatedAtRange.class);
+        bind(query, shape, criteria, null);
+        return query;
+    }
+
+    /**
+     * Crea la consulta de una página por cursor, ordenada por (createdAt, id).
+     *
+     * @param entityManager EntityManager de la transacción actual
+     * @param criteria Criterios de búsqueda, o null para no filtrar
+     * @param after Cursor tras el que empieza la página, o null para la primera página
+     * @return Consulta con los parámetros ya asignados
+     */
+    public TypedQuery<ClientKeysetRow> keysetQuery(EntityManager entityManager, ClientSearchCriteria criteria,
+                                                   ClientCursor after) {
+        int shape = shapeOf(criteria) | (after != null ? AFTER : 0);
+        TypedQuery<ClientKeysetRow> query = entityManager.createQuery(
+                statement(Projection.KEYSET, shape), ClientKeysetRow.class);
+        bind(query, shape, criteria, after);
+        return query;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("clients.search.statements", hits, LongAdder::sum)
+                .description("Búsquedas resueltas con una sentencia canónica ya construida")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("clients.search.statements", misses, LongAdder::sum)
+                .description("Búsquedas que han tenido que construir su sentencia canónica")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("clients.search.statements.size", this, ClientSearchQueries::size)
+                .description("Sentencias canónicas construidas")
+                .register(registry);
+    }
+
+    private int size() {
+        int size = 0;
+        for (int i = 0; i < statements.length(); i++) {
+            if (statements.get(i) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private String statement(Projection projection, int shape) {
+        int index = projection.ordinal() * SHAPES + shape;
+        String statement = statements.get(index);
+        if (statement != null) {
+            hits.increment();
+            return statement;
+        }
+        misses.increment();
+        statement = buildStatement(projection, shape);
+        statements.set(index, statement);
+        return statement;
+    }
+
+    private static int shapeOf(ClientSearchCriteria criteria) {
+        if (criteria == null) {
+            return 0;
+        }
+        int shape = 0;
+        if (hasText(criteria.getName())) shape |= NAME;
+        if (hasText(criteria.getEmail())) shape |= EMAIL;
+        if (hasText(criteria.getPhone())) shape |= PHONE;
+        if (criteria.getStartDate() != null) shape |= START_DATE;
+        if (criteria.getEndDate() != null) shape |= END_DATE;
+        return shape;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    /**
+     * Construye la sentencia de una forma. Los filtros de texto usan lower(...) like para
+     * aprovechar los índices de trigramas y el rango de fechas es semiabierto: la fecha
+     * final incluye el día completo.
+     */
+    private static String buildStatement(Projection projection, int shape) {
+        StringBuilder jpql = new StringBuilder(projection.select);
+        String separator = " where ";
+        if ((shape & NAME) != 0) {
+            jpql.append(separator).append("lower(c.name) like :name escape '\\'");
+            separator = " and ";
+        }
+        if ((shape & EMAIL) != 0) {
+            jpql.append(separator).append("lower(c.email) like :email escape '\\'");
+            separator = " and ";
+        }
+        if ((shape & PHONE) != 0) {
+            jpql.append(separator).append("c.phone like :phone escape '\\'");
+            separator = " and ";
+        }
+        if ((shape & START_DATE) != 0) {
+            jpql.append(separator).append("c.createdAt >= :startDate");
+            separator = " and ";
+        }
+        if ((shape & END_DATE) != 0) {
+            jpql.append(separator).append("c.createdAt < :endDate");
+            separator = " and ";
+        }
+        if ((shape & AFTER) != 0) {
+            jpql.append(separator)
+                    .append("c.createdAt >= :afterCreatedAt and (c.createdAt > :afterCreatedAt or c.id > :afterId)");
+            separator = " and ";
+        }
+        if ((shape & RANGE_FROM) != 0) {
+            jpql.append(separator).append("c.createdAt >= :rangeFrom");
+            separator = " and ";
+        }
+        if ((shape & RANGE_TO) != 0) {
+            jpql.append(separator).append((shape & RANGE_FROM) != 0
+                    ? "c.createdAt < :rangeTo"
+                    : "(c.createdAt < :rangeTo or c.createdAt is null)");
+        }
+        return jpql.append(projection.orderBy).toString();
+    }
+
+    private static void bind(TypedQuery<?> query, int shape, ClientSearchCriteria criteria, ClientCursor after) {
+        if ((shape & NAME) != 0) {
+            query.setParameter("name", LikePatterns.containsPattern(criteria.getName()));
+        }
+        if ((shape & EMAIL) != 0) {
+            query.setParameter("email", LikePatterns.containsPattern(criteria.getEmail()));
+        }
+        if ((shape & PHONE) != 0) {
+            query.setParameter("phone", LikePatterns.containsPattern(criteria.getPhone()));
+        }
+        if ((shape & START_DATE) != 0) {
+            query.setParameter("startDate", criteria.getStartDate().atStartOfDay());
+        }
+        if ((shape & END_DATE) != 0) {
+            query.setParameter("endDate", criteria.getEndDate().plusDays(1).atStartOfDay());
+        }
+        if ((shape & AFTER) != 0) {
+            query.setParameter("afterCreatedAt", after.createdAt());
+            query.setParameter("afterId", after.id());
+        }
+    }
+}
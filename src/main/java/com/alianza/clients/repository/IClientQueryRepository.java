@@ -0,0 +1,105 @@
+package com.alianza.clients.repository;
+
+import com.alianza.clients.dto.ClientChangeHorizon;
+import com.alianza.clients.dto.ClientCreatedAtRange;
+import com.alianza.clients.dto.ClientCursor;
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.dto.ClientKeysetRow;
+import com.alianza.clients.dto.ClientSearchCriteria;
+import com.alianza.clients.dto.ClientsVersion;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Consultas personalizadas sobre la entidad Cliente que no pueden expresarse
+ * con los métodos derivados de Spring Data.
+ * Las consultas de lectura proyectan directamente sobre DTO: no se crean entidades
+ * gestionadas ni se pasa por el mapeador, y la fecha de creación se convierte en SQL.
+ * Los criterios se traducen a sentencias canónicas con parámetros ({@link ClientSearchQueries}).
+ */
+public interface IClientQueryRepository {
+
+    /**
+     * Obtiene los clientes que cumplen los criterios proyectados sobre DTO.
+     *
+     * @param criteria Criterios de búsqueda, o null para obtener todos los clientes
+     * @return Lista de clientes
+     */
+    List<ClientDTO> findAllAsDTO(ClientSearchCriteria criteria);
+
+    /**
+     * Obtiene una página de clientes ordenada por (createdAt, id) junto con los datos necesarios para el cursor.
+     *
+     * @param criteria Criterios de búsqueda, o null para no filtrar
+     * @param after Cursor tras el que empieza la página, o null para la primera página
+     * @param limit Número máximo de filas
+     * @return Filas de la página
+     */
+    List<ClientKeysetRow> findKeysetPage(ClientSearchCriteria criteria, ClientCursor after, int limit);
+
+    /**
+     * Recorre los clientes que cumplen los criterios mediante un cursor de solo lectura.
+     * Las filas se obtienen por lotes y se proyectan sobre DTO sin pasar por el contexto de
+     * persistencia, por lo que el consumo de memoria no depende del número de resultados.
+     * Debe invocarse dentro de una transacción y el stream debe cerrarse al terminar.
+     *
+     * @param criteria Criterios de búsqueda, o null para recorrer todos los clientes
+     * @return Stream de clientes
+     */
+    Stream<ClientDTO> streamAllAsDTO(ClientSearchCriteria criteria);
+
+    /**
+     * Igual que {@link #streamAllAsDTO(ClientSearchCriteria)} pero limitado a los clientes creados
+     * en [from, to). Un rango sin límite inferior incluye también los clientes sin fecha de creación.
+     *
+     * @param criteria Criterios de búsqueda, o null para recorrer todos los clientes
+     * @param from Inicio del rango (incluido), o null para no acotarlo
+     * @param to Fin del rango (excluido), o null para no acotarlo
+     * @return Stream de clientes
+     */
+    Stream<ClientDTO> streamAllAsDTO(ClientSearchCriteria criteria, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Obtiene las fechas de creación mínima y máxima de los clientes que cumplen los criterios.
+     *
+     * @param criteria Criterios de búsqueda, o null para todos los clientes
+     * @return Rango de fechas de creación; sus extremos son null si no hay clientes con fecha
+     */
+    ClientCreatedAtRange findCreatedAtRange(ClientSearchCriteria criteria);
+
+    /**
+     * Obtiene la versión de la tabla de clientes de la fila que mantiene el disparador de client
+     * (migración V5), sin recorrer la tabla.
+     *
+     * @return Versión actual de la tabla de clientes
+     */
+    ClientsVersion findVersion();
+
+    /**
+     * Obtiene el horizonte del feed de cambios y, si no hay transacciones en curso, la versión de la
+     * tabla de clientes en la misma instantánea. Se lee del primario, como el feed.
+     *
+     * @return Horizonte del feed y versión que cubre las filas anteriores a él, si se conoce
+     * @see com.alianza.clients.repository.IClientRepository#findChangeHorizon()
+     */
+    ClientChangeHorizon findChangeHorizonWithVersion();
+
+    /**
+     * Exporta la instantánea de la transacción en curso para que otras transacciones lean los mismos datos
+     * ({@code pg_export_snapshot()}). Debe invocarse dentro de una transacción REPEATABLE READ, que conserva
+     * la instantánea hasta terminar, y la instantánea solo puede importarse mientras esa transacción siga abierta.
+     *
+     * @return Identificador de la instantánea
+     */
+    String exportSnapshot();
+
+    /**
+     * Hace que la transacción en curso lea la instantánea exportada por otra ({@code SET TRANSACTION SNAPSHOT}).
+     * Debe ser la primera sentencia de una transacción REPEATABLE READ en el mismo servidor que la exportó.
+     *
+     * @param snapshotId Identificador devuelto por {@link #exportSnapshot()}
+     */
+    void importSnapshot(String snapshotId);
+}
@@ -1,32 +1,97 @@
 package com.alianza.clients.repository;
 
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.dto.ClientChangeRow;
 import com.alianza.clients.model.Client;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 /**
  * Repositorio para operaciones de acceso a datos relacionadas con la entidad Cliente.
- * Extiende JpaRepository para heredar operaciones CRUD básicas y JpaSpecificationExecutor para búsquedas avanzadas.
+ * Extiende JpaRepository para heredar operaciones CRUD básicas, JpaSpecificationExecutor para búsquedas avanzadas
+ * e IClientQueryRepository para las consultas por cursor y las proyecciones sobre DTO.
  */
 @Repository
-public interface IClientRepository extends JpaRepository<Client, String>, JpaSpecificationExecutor<Client> {
+public interface IClientRepository extends JpaRepository<Client, String>, JpaSpecificationExecutor<Client>,
+        IClientQueryRepository {
 
     /**
-     * Busca clientes cuya sharedKey contenga la cadena especificada, ignorando mayúsculas y minúsculas.
+     * Busca clientes cuya sharedKey en minúsculas coincida con el patrón LIKE indicado.
+     * La comparación se hace sobre lower(shared_key) para aprovechar el índice de trigramas
+     * y el resultado se proyecta directamente sobre DTO.
      *
-     * @param sharedKey Cadena a buscar dentro de la sharedKey
+     * @param pattern Patrón LIKE en minúsculas, con los comodines escapados con '\'
      * @return Lista de clientes que coinciden con el criterio de búsqueda
+     * @see LikePatterns#containsPattern(String)
      */
-    List<Client> findBySharedKeyContainingIgnoreCase(String sharedKey);
+    @Query("select new com.alianza.clients.dto.ClientDTO(c.id, c.sharedKey, c.name, c.email, c.phone, "
+            + "cast(c.createdAt as LocalDate)) from Client c where lower(c.sharedKey) like :pattern escape '\\'")
+    List<ClientDTO> findBySharedKeyLike(@Param("pattern") String pattern);
 
     /**
-     * Verifica si existe un cliente con la sharedKey especificada.
+     * Obtiene el horizonte del feed de cambios: el xmin de la instantánea actual. Las transacciones
+     * con identificador menor han terminado, y las que escriban después tendrán uno mayor, así que
+     * las filas con changeXid menor ya no cambian de posición respecto a la marca de agua.
+     * Se lee del primario aunque haya réplicas (transacción de lectura y escritura), como el feed.
      *
-     * @param sharedKey sharedKey a verificar
-     * @return true si existe un cliente con la sharedKey, false en caso contrario
+     * @return Identificador de transacción a partir del cual los cambios aún no se entregan
      */
-    boolean existsBySharedKey(String sharedKey);
-}
\ No newline at end of file
+    @Transactional
+    @Query(value = "select cast(cast(pg_snapshot_xmin(pg_current_snapshot()) as text) as bigint)", nativeQuery = true)
+    long findChangeHorizon();
+
+    /**
+     * Obtiene los primeros cambios del feed, ordenados por (changeXid, id).
+     * Se lee del primario aunque haya réplicas (transacción de lectura y escritura): una réplica
+     * retrasada no vería todas las filas anteriores al horizonte del primario.
+     *
+     * @param horizon Solo se incluyen las filas escritas por transacciones anteriores a esta
+     * @param limit Número máximo de filas
+     * @return Filas del feed
+     */
+    @Transactional
+    @Query("select new com.alianza.clients.dto.ClientChangeRow(c.id, c.sharedKey, c.name, c.email, c.phone, "
+            + "cast(c.createdAt as LocalDate), c.changeXid) from Client c "
+            + "where c.changeXid < :horizon order by c.changeXid, c.id")
+    List<ClientChangeRow> findChanges(@Param("horizon") long horizon, Limit limit);
+
+    /**
+     * Obtiene los cambios posteriores a una marca de agua, ordenados por (changeXid, id).
+     * Usa la misma forma de predicado que la paginación por cursor para posicionarse
+     * sobre el índice (change_xid, id). Como {@link #findChanges}, se lee del primario.
+     *
+     * @param changeXid Transacción de la marca de agua
+     * @param id Identificador de la marca de agua
+     * @param horizon Solo se incluyen las filas escritas por transacciones anteriores a esta
+     * @param limit Número máximo de filas
+     * @return Filas del feed
+     */
+    @Transactional
+    @Query("select new com.alianza.clients.dto.ClientChangeRow(c.id, c.sharedKey, c.name, c.email, c.phone, "
+            + "cast(c.createdAt as LocalDate), c.changeXid) from Client c "
+            + "where c.changeXid >= :changeXid and (c.changeXid > :changeXid or c.id > :id) "
+            + "and c.changeXid < :horizon order by c.changeXid, c.id")
+    List<ClientChangeRow> findChangesAfter(@Param("changeXid") long changeXid, @Param("id") String id,
+                                           @Param("horizon") long horizon, Limit limit);
+
+    /**
+     * Obtiene la transacción del último cambio que el feed ya puede entregar, con el horizonte
+     * leído en la misma sentencia. Sirve para saber, con una sola consulta sobre el índice
+     * (change_xid, id), si hay cambios posteriores a una marca de agua. Como {@link #findChanges},
+     * se lee del primario.
+     *
+     * @return Mayor changeXid anterior al horizonte, o null si el feed está vacío
+     */
+    @Transactional
+    @Query(value = "select max(change_xid) from client "
+            + "where change_xid < cast(cast(pg_snapshot_xmin(pg_current_snapshot()) as text) as bigint)",
+            nativeQuery = true)
+    Long findLatestChangeXid();
+}
@@ -0,0 +1,33 @@
+package com.alianza.clients.repository;
+
+import java.util.Locale;
+
+/**
+ * Patrones LIKE de las búsquedas de clientes, con el carácter de escape '\' que usan sus sentencias.
+ */
+public final class LikePatterns {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private LikePatterns() {
+    }
+
+    /**
+     * Construye un patrón LIKE de subcadena en minúsculas, escapando los comodines
+     * presentes en el valor para que se busquen de forma literal. Las minúsculas no dependen
+     * de la configuración regional: deben coincidir con lower(...) de PostgreSQL.
+     *
+     * @param value Valor a buscar
+     * @return Patrón de la forma %valor%
+     */
+    public static String containsPattern(String value) {
+        StringBuilder pattern = new StringBuilder(value.length() + 2).append('%');
+        for (char c : value.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
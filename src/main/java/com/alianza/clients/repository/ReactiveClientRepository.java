@@ -0,0 +1,176 @@
+package com.alianza.clients.repository;
+
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.dto.ClientSearchCriteria;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Consultas de lectura de clientes sobre R2DBC para la ruta reactiva (clients.reactive.enabled=true).
+ * Los resultados se devuelven como Flux con contrapresión: el driver pide las filas al servidor en
+ * bloques de {@code fetchSize} a medida que el suscriptor las consume, de modo que un cliente HTTP
+ * lento no obliga a acumular el resultado en memoria.
+ * <p>
+ * El pool de conexiones es propio y no se publica como bean: un ConnectionFactory en el contexto
+ * desactivaría la configuración automática del DataSource que usan JPA y Flyway. Los predicados
+ * son los mismos que los de {@link ClientSearchQueries}.
+ */
+@Repository
+@ConditionalOnProperty(name = "clients.reactive.enabled", havingValue = "true")
+public class ReactiveClientRepository implements MeterBinder {
+
+    private static final String SELECT = "select id, shared_key, name, email, phone, created_at from client";
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    /**
+     * Constructor con la configuración del pool de conexiones R2DBC.
+     *
+     * @param url URL R2DBC de la base de datos
+     * @param username Usuario de la base de datos
+     * @param password Contraseña de la base de datos
+     * @param maxSize Número máximo de conexiones del pool
+     * @param maxAcquireTime Tiempo máximo de espera de una conexión libre
+     * @param fetchSize Número de filas que se piden al servidor en cada bloque
+     */
+    public ReactiveClientRepository(@Value("${clients.reactive.r2dbc.url}") String url,
+                                    @Value("${clients.reactive.r2dbc.username:${spring.datasource.username}}") String username,
+                                    @Value("${clients.reactive.r2dbc.password:${spring.datasource.password}}") String password,
+                                    @Value("${clients.reactive.r2dbc.pool.max-size:20}") int maxSize,
+                                    @Value("${clients.reactive.r2dbc.pool.max-acquire-time:PT3S}") Duration maxAcquireTime,
+                                    @Value("${clients.reactive.fetch-size:1000}") int fetchSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("clients-reactive")
+                .initialSize(Math.min(maxSize, 10))
+                .maxSize(maxSize)
+                .maxAcquireTime(maxAcquireTime)
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+        this.fetchSize = fetchSize;
+    }
+
+    @PreDestroy
+    public void close() {
+        connectionPool.dispose();
+    }
+
+    /**
+     * Obtiene todos los clientes.
+     *
+     * @return Flujo de clientes
+     */
+    public Flux<ClientDTO> findAll() {
+        return query(SELECT, Map.of());
+    }
+
+    /**
+     * Busca clientes cuya sharedKey en minúsculas coincida con el patrón LIKE indicado.
+     *
+     * @param pattern Patrón LIKE en minúsculas, con los comodines escapados con '\'
+     * @return Flujo de clientes que coinciden con el criterio de búsqueda
+     * @see LikePatterns#containsPattern(String)
+     */
+    public Flux<ClientDTO> findBySharedKeyLike(String pattern) {
+        return query(SELECT + " where lower(shared_key) like :pattern escape '\\'", Map.of("pattern", pattern));
+    }
+
+    /**
+     * Busca clientes según los criterios de la búsqueda avanzada. La fecha final incluye el día completo.
+     *
+     * @param criteria Criterios de búsqueda
+     * @return Flujo de clientes que coinciden con los criterios
+     */
+    public Flux<ClientDTO> search(ClientSearchCriteria criteria) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (hasText(criteria.getName())) {
+            where(sql, "lower(name) like :name escape '\\'");
+            parameters.put("name", LikePatterns.containsPattern(criteria.getName()));
+        }
+        if (hasText(criteria.getEmail())) {
+            where(sql, "lower(email) like :email escape '\\'");
+            parameters.put("email", LikePatterns.containsPattern(criteria.getEmail()));
+        }
+        if (hasText(criteria.getPhone())) {
+            where(sql, "phone like :phone escape '\\'");
+            parameters.put("phone", LikePatterns.containsPattern(criteria.getPhone()));
+        }
+        if (criteria.getStartDate() != null) {
+            where(sql, "created_at >= :startDate");
+            parameters.put("startDate", criteria.getStartDate().atStartOfDay());
+        }
+        if (criteria.getEndDate() != null) {
+            where(sql, "created_at < :endDate");
+            parameters.put("endDate", criteria.getEndDate().plusDays(1).atStartOfDay());
+        }
+        return query(sql.toString(), parameters);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        poolGauge(registry, "acquired", PoolMetrics::acquiredSize);
+        poolGauge(registry, "idle", PoolMetrics::idleSize);
+        poolGauge(registry, "pending", PoolMetrics::pendingAcquireSize);
+    }
+
+    private void poolGauge(MeterRegistry registry, String state, ToIntFunction<PoolMetrics> value) {
+        Gauge.builder("clients.reactive.pool.connections", connectionPool,
+                        pool -> pool.getMetrics().map(value::applyAsInt).orElse(0))
+                .description("Conexiones del pool R2DBC de la ruta reactiva")
+                .tag("state", state)
+                .register(registry);
+    }
+
+    private Flux<ClientDTO> query(String sql, Map<String, Object> parameters) {
+        return databaseClient.sql(sql)
+                .bindValues(parameters)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveClientRepository::toDTO)
+                .all();
+    }
+
+    private static void where(StringBuilder sql, String predicate) {
+        sql.append(sql.length() == SELECT.length() ? " where " : " and ").append(predicate);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static ClientDTO toDTO(Readable row) {
+        LocalDateTime createdAt = row.get("created_at", LocalDateTime.class);
+        return ClientDTO.builder()
+                .id(row.get("id", String.class))
+                .sharedKey(row.get("shared_key", String.class))
+                .name(row.get("name", String.class))
+                .email(row.get("email", String.class))
+                .phone(row.get("phone", String.class))
+                .createdAt(createdAt != null ? createdAt.toLocalDate() : null)
+                .build();
+    }
+}
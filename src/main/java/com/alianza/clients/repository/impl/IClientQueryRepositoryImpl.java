@@ -0,0 +1,136 @@
+package com.alianza.clients.repository.impl;
+
+import com.alianza.clients.dto.ClientChangeHorizon;
+import com.alianza.clients.dto.ClientCreatedAtRange;
+import com.alianza.clients.dto.ClientCursor;
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.dto.ClientKeysetRow;
+import com.alianza.clients.dto.ClientSearchCriteria;
+import com.alianza.clients.dto.ClientsVersion;
+import com.alianza.clients.repository.ClientSearchQueries;
+import com.alianza.clients.repository.IClientQueryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Implementación de las consultas personalizadas de clientes basada en el EntityManager.
+ * Las transacciones de solo lectura ponen la sesión de Hibernate en FlushMode.MANUAL.
+ */
+@Transactional(readOnly = true)
+public class IClientQueryRepositoryImpl implements IClientQueryRepository {
+
+    /**
+     * La versión se reparte en ranuras para que las escrituras concurrentes no compitan por una sola
+     * fila: es la suma de sus contadores y la mayor de sus fechas.
+     */
+    private static final String VERSION_QUERY =
+            "select cast(sum(version) as bigint) as version, max(last_modified) as last_modified from client_version";
+    /**
+     * pg_current_snapshot() devuelve la instantánea de la propia sentencia: las ranuras de versión se
+     * leen en ella, y si xmin = xmax no había transacciones en curso que la versión pudiera omitir.
+     */
+    private static final String HORIZON_VERSION_QUERY =
+            "select cast(cast(pg_snapshot_xmin(s) as text) as bigint) as horizon, "
+            + "pg_snapshot_xmin(s) = pg_snapshot_xmax(s) as quiescent, v.version, v.last_modified "
+            + "from pg_current_snapshot() s, (" + VERSION_QUERY + ") v";
+    /**
+     * SET TRANSACTION SNAPSHOT no admite parámetros: el identificador se valida antes de incluirlo en la sentencia.
+     */
+    private static final Pattern SNAPSHOT_ID = Pattern.compile("[0-9A-F]+(-[0-9A-F]+)+");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ClientSearchQueries searchQueries;
+
+    @Value("${clients.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Override
+    public List<ClientDTO> findAllAsDTO(ClientSearchCriteria criteria) {
+        return searchQueries.dtoQuery(entityManager, criteria).getResultList();
+    }
+
+    @Override
+    public List<ClientKeysetRow> findKeysetPage(ClientSearchCriteria criteria, ClientCursor after, int limit) {
+        return searchQueries.keysetQuery(entityManager, criteria, after)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<ClientDTO> streamAllAsDTO(ClientSearchCriteria criteria) {
+        return searchQueries.dtoQuery(entityManager, criteria)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public Stream<ClientDTO> streamAllAsDTO(ClientSearchCriteria criteria, LocalDateTime from, LocalDateTime to) {
+        return searchQueries.dtoQuery(entityManager, criteria, from, to)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public ClientCreatedAtRange findCreatedAtRange(ClientSearchCriteria criteria) {
+        return searchQueries.createdAtRangeQuery(entityManager, criteria).getSingleResult();
+    }
+
+    @Override
+    public ClientsVersion findVersion() {
+        Object[] row = (Object[]) entityManager.createNativeQuery(VERSION_QUERY)
+                .unwrap(NativeQuery.class)
+                .addScalar("version", Long.class)
+                .addScalar("last_modified", LocalDateTime.class)
+                .getSingleResult();
+        return new ClientsVersion((Long) row[0], (LocalDateTime) row[1]);
+    }
+
+    @Override
+    @Transactional
+    public ClientChangeHorizon findChangeHorizonWithVersion() {
+        Object[] row = (Object[]) entityManager.createNativeQuery(HORIZON_VERSION_QUERY)
+                .unwrap(NativeQuery.class)
+                .addScalar("horizon", Long.class)
+                .addScalar("quiescent", Boolean.class)
+                .addScalar("version", Long.class)
+                .addScalar("last_modified", LocalDateTime.class)
+                .getSingleResult();
+        ClientsVersion version = (Boolean) row[1] ? new ClientsVersion((Long) row[2], (LocalDateTime) row[3]) : null;
+        return new ClientChangeHorizon((Long) row[0], version);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String exportSnapshot() {
+        return (String) entityManager.createNativeQuery("select pg_export_snapshot()").getSingleResult();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void importSnapshot(String snapshotId) {
+        if (snapshotId == null || !SNAPSHOT_ID.matcher(snapshotId).matches()) {
+            throw new IllegalArgumentException("Identificador de instantánea inválido: " + snapshotId);
+        }
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set transaction snapshot '" + snapshotId + "'");
+            }
+        });
+    }
+}
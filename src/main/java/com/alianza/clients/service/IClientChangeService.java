@@ -0,0 +1,24 @@
+package com.alianza.clients.service;
+
+import com.alianza.clients.dto.ClientChangesDTO;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Interfaz que define el feed incremental de cambios de clientes.
+ */
+public interface IClientChangeService {
+
+    /**
+     * Obtiene los clientes creados o modificados después de la marca de agua, ordenados por
+     * transacción de escritura e id. Si no hay cambios y se indica un tiempo de espera, la
+     * respuesta se completa cuando se registran nuevos cambios o al vencer la espera.
+     *
+     * @param since Marca de agua devuelta por la consulta anterior, o null para empezar desde el principio
+     * @param limit Número máximo de clientes de la respuesta
+     * @param wait Tiempo máximo de espera de nuevos cambios; cero para responder de inmediato
+     * @return Cambios y marca de agua para la siguiente consulta
+     */
+    public CompletableFuture<ClientChangesDTO> getChanges(String since, int limit, Duration wait);
+}
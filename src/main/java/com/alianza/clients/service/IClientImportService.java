@@ -0,0 +1,23 @@
+package com.alianza.clients.service;
+
+import com.alianza.clients.dto.BulkImportResultDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Interfaz que define la importación masiva de clientes.
+ */
+public interface IClientImportService {
+
+    /**
+     * Importa clientes desde un archivo CSV (columnas name, email, phone) o NDJSON.
+     * Las filas inválidas o duplicadas se reportan sin interrumpir la importación del resto.
+     *
+     * @param inputStream Contenido del archivo
+     * @param format Formato del archivo: CSV o NDJSON
+     * @return Resumen de la importación con los errores por fila
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    public BulkImportResultDTO importClients(InputStream inputStream, String format) throws IOException;
+}
@@ -1,12 +1,16 @@
 package com.alianza.clients.service;
 
 import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.dto.ClientPageDTO;
 import com.alianza.clients.dto.ClientSearchCriteria;
-import org.springframework.core.io.Resource;
+import com.alianza.clients.dto.ClientsVersion;
+import com.alianza.clients.dto.Versioned;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.function.LongConsumer;
 
 /**
  * Interfaz que define los servicios disponibles para la gestión de clientes.
@@ -17,17 +21,34 @@ public interface IClientService {
     /**
      * Obtiene todos los clientes registrados en el sistema.
      *
-     * @return Lista de DTOs de clientes
+     * @return Lista de DTOs de clientes, con la versión de los clientes que refleja
      */
-    public List<ClientDTO> getAllClients();
+    public Versioned<List<ClientDTO>> getAllClients();
+
+    /**
+     * Obtiene la versión actual de los clientes, usada como validador de las respuestas de los listados.
+     *
+     * @return Contador de escrituras y fecha de la última
+     */
+    public ClientsVersion getClientsVersion();
+
+    /**
+     * Obtiene una página de clientes ordenada por fecha de creación e id.
+     *
+     * @param cursor Token de continuación devuelto por la página anterior, o null para la primera página
+     * @param size Número máximo de clientes de la página
+     * @return Página de clientes con el token de la página siguiente, con la versión de los clientes que refleja
+     */
+    public Versioned<ClientPageDTO> getClientsPage(String cursor, int size);
 
     /**
      * Busca clientes por su sharedKey.
      *
      * @param sharedKey sharedKey a buscar
-     * @return Lista de DTOs de clientes que coinciden con la búsqueda
+     * @return Lista de DTOs de clientes que coinciden con la búsqueda, ordenados por fecha de creación e id,
+     * con la versión de los clientes que refleja
      */
-    public List<ClientDTO> searchClientsBySharedKey(String sharedKey);
+    public Versioned<List<ClientDTO>> searchClientsBySharedKey(String sharedKey);
 
     /**
      * Crea un nuevo cliente en el sistema.
@@ -41,17 +62,49 @@ public interface IClientService {
      * Busca clientes según los criterios especificados.
      *
      * @param criteria Criterios de búsqueda
-     * @return Lista de DTOs de clientes que coinciden con los criterios
+     * @return Lista de DTOs de clientes que coinciden con los criterios, ordenados por fecha de creación e id
      */
     public List<ClientDTO> searchClients(ClientSearchCriteria criteria);
 
     /**
-     * Exporta los clientes que coinciden con los criterios de búsqueda al formato especificado.
+     * Busca una página de clientes según los criterios especificados, ordenada por fecha de creación e id.
+     *
+     * @param criteria Criterios de búsqueda
+     * @param cursor Token de continuación devuelto por la página anterior, o null para la primera página
+     * @param size Número máximo de clientes de la página
+     * @return Página de clientes con el token de la página siguiente
+     */
+    public ClientPageDTO searchClientsPage(ClientSearchCriteria criteria, String cursor, int size);
+
+    /**
+     * Escribe todos los clientes en formato NDJSON (un objeto JSON por línea) a medida que se
+     * leen de la base de datos, sin acumular el resultado en memoria.
+     *
+     * @param outputStream Flujo de salida donde se escriben los clientes
+     * @return Número de clientes escritos
+     * @throws IOException si ocurre un error al escribir en el flujo de salida
+     */
+    public long streamClients(OutputStream outputStream) throws IOException;
+
+    /**
+     * Exporta los clientes que coinciden con los criterios de búsqueda al formato especificado,
+     * escribiendo el archivo directamente en el flujo de salida a medida que se leen las filas.
+     *
+     * @param criteria Criterios de búsqueda y formato de exportación
+     * @param outputStream Flujo de salida donde se escribe el archivo exportado
+     * @throws IOException si ocurre un error durante la exportación
+     */
+    public void exportClients(ClientSearchCriteria criteria, OutputStream outputStream) throws IOException;
+
+    /**
+     * Exporta los clientes igual que {@link #exportClients(ClientSearchCriteria, OutputStream)},
+     * notificando el avance a medida que se escriben las filas.
      *
      * @param criteria Criterios de búsqueda y formato de exportación
-     * @return Resource con el archivo exportado
+     * @param outputStream Flujo de salida donde se escribe el archivo exportado
+     * @param progress Recibe el número total de filas escritas hasta el momento
      * @throws IOException si ocurre un error durante la exportación
-     * @return Recurso con el archivo exportado
      */
-    public Resource exportClients(ClientSearchCriteria criteria) throws IOException;
+    public void exportClients(ClientSearchCriteria criteria, OutputStream outputStream, LongConsumer progress)
+            throws IOException;
 }
\ No newline at end of file
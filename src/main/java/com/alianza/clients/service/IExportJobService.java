@@ -0,0 +1,35 @@
+package com.alianza.clients.service;
+
+import com.alianza.clients.dto.ClientSearchCriteria;
+import com.alianza.clients.dto.ExportJobDTO;
+import org.springframework.core.io.Resource;
+
+/**
+ * Interfaz que define la gestión de exportaciones asíncronas de clientes.
+ */
+public interface IExportJobService {
+
+    /**
+     * Encola una exportación de clientes que se escribirá en disco en segundo plano.
+     *
+     * @param criteria Criterios de búsqueda y formato de exportación
+     * @return Estado inicial del trabajo de exportación
+     */
+    public ExportJobDTO submitExport(ClientSearchCriteria criteria);
+
+    /**
+     * Obtiene el estado y avance de un trabajo de exportación.
+     *
+     * @param jobId Identificador del trabajo
+     * @return Estado del trabajo
+     */
+    public ExportJobDTO getExportJob(String jobId);
+
+    /**
+     * Obtiene el archivo generado por un trabajo de exportación finalizado.
+     *
+     * @param jobId Identificador del trabajo
+     * @return Recurso con el archivo exportado
+     */
+    public Resource getExportFile(String jobId);
+}
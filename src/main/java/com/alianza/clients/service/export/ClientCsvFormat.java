@@ -0,0 +1,39 @@
+package com.alianza.clients.service.export;
+
+import com.alianza.clients.dto.ClientDTO;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import java.io.IOException;
+
+/**
+ * Columnas de la exportación CSV de clientes, compartidas por la exportación secuencial y la paralela.
+ */
+public final class ClientCsvFormat {
+
+    /**
+     * Encabezados de las columnas; "Business ID" es el nombre del cliente.
+     */
+    public static final String[] HEADERS = {"ID", "Shared Key", "Business ID", "Email", "Phone", "Created At"};
+
+    /**
+     * Formato de la salida: CSV estándar con la fila de encabezados.
+     */
+    public static final CSVFormat FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader(HEADERS)
+            .build();
+
+    private ClientCsvFormat() {
+    }
+
+    public static void printRecord(CSVPrinter csvPrinter, ClientDTO client) throws IOException {
+        csvPrinter.printRecord(
+            client.getId(),
+            client.getSharedKey(),
+            client.getName(),
+            client.getEmail(),
+            client.getPhone(),
+            client.getCreatedAt()
+        );
+    }
+}
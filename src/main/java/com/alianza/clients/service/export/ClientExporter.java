@@ -0,0 +1,43 @@
+package com.alianza.clients.service.export;
+
+import com.alianza.clients.dto.ClientDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Formato de exportación de clientes. Cada implementación registrada como bean queda disponible
+ * en {@link ClientExporterRegistry} con el nombre que devuelve {@link #format()}.
+ * Las implementaciones escriben a medida que leen el stream y no cierran el flujo de salida.
+ */
+public interface ClientExporter {
+
+    /**
+     * Nombre del formato en ClientSearchCriteria.exportFormat, en mayúsculas.
+     */
+    String format();
+
+    /**
+     * Tipo de contenido del archivo generado.
+     */
+    String contentType();
+
+    /**
+     * Extensión del archivo generado, sin punto.
+     */
+    String fileExtension();
+
+    /**
+     * Escribe los clientes en el flujo de salida.
+     *
+     * @param clients Clientes a exportar
+     * @param outputStream Flujo de salida
+     * @param progress Recibe el número de filas escritas hasta el momento
+     * @param phases Acumulador del tiempo de cada fase de la exportación
+     * @throws IOException si no se puede escribir en el flujo de salida
+     */
+    void export(Stream<ClientDTO> clients, OutputStream outputStream, LongConsumer progress, ExportPhases phases)
+            throws IOException;
+}
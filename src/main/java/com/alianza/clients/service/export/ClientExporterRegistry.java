@@ -0,0 +1,39 @@
+package com.alianza.clients.service.export;
+
+import com.alianza.clients.exception.BadRequestException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Formatos de exportación disponibles, indexados por nombre.
+ */
+@Component
+public class ClientExporterRegistry {
+
+    private final Map<String, ClientExporter> exporters;
+
+    public ClientExporterRegistry(List<ClientExporter> exporters) {
+        this.exporters = exporters.stream()
+                .collect(Collectors.toUnmodifiableMap(ClientExporter::format, Function.identity()));
+    }
+
+    /**
+     * Obtiene el exportador de un formato, sin distinguir mayúsculas.
+     *
+     * @param exportFormat Nombre del formato
+     * @return Exportador del formato
+     * @throws BadRequestException si el formato no está soportado
+     */
+    public ClientExporter get(String exportFormat) {
+        ClientExporter exporter = exportFormat == null ? null : exporters.get(exportFormat.toUpperCase(Locale.ROOT));
+        if (exporter == null) {
+            throw new BadRequestException("Formato de exportación no soportado: " + exportFormat);
+        }
+        return exporter;
+    }
+}
@@ -0,0 +1,55 @@
+package com.alianza.clients.service.export;
+
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.service.export.ExportPhases.Phase;
+import org.apache.commons.csv.CSVPrinter;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Exportación CSV con encabezado.
+ */
+@Component
+public class CsvClientExporter implements ClientExporter {
+    public static final String FORMAT = "CSV";
+
+    @Override
+    public String format() {
+        return FORMAT;
+    }
+
+    @Override
+    public String contentType() {
+        return "text/csv";
+    }
+
+    @Override
+    public String fileExtension() {
+        return "csv";
+    }
+
+    @Override
+    public void export(Stream<ClientDTO> clients, OutputStream outputStream, LongConsumer progress,
+                       ExportPhases phases) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        CSVPrinter csvPrinter = new CSVPrinter(writer, ClientCsvFormat.FORMAT);
+        long rowsWritten = 0;
+        for (ClientDTO client : (Iterable<ClientDTO>) clients::iterator) {
+            phases.lap(Phase.QUERY);
+            ClientCsvFormat.printRecord(csvPrinter, client);
+            phases.rowExported();
+            phases.lap(Phase.SERIALIZATION);
+            progress.accept(++rowsWritten);
+        }
+        csvPrinter.flush();
+        phases.lap(Phase.WRITE);
+    }
+}
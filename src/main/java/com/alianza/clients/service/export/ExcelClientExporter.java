@@ -0,0 +1,115 @@
+package com.alianza.clients.service.export;
+
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.service.export.ExportPhases.Phase;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Exportación a Excel (xlsx) con un libro en streaming: solo se mantienen en memoria las
+ * últimas filas y el resto se vuelca a archivos temporales.
+ */
+@Component
+public class ExcelClientExporter implements ClientExporter {
+    private static final int EXCEL_MAX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private final int excelRowWindow;
+    private final boolean excelCompressTempFiles;
+    private final int maxRowsPerSheet;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param excelRowWindow Número de filas de Excel que se mantienen en memoria antes de volcarse a disco
+     * @param excelCompressTempFiles Indica si los archivos temporales de Excel se comprimen
+     */
+    @Autowired
+    public ExcelClientExporter(@Value("${clients.export.excel.row-window:100}") int excelRowWindow,
+                               @Value("${clients.export.excel.compress-temp-files:true}") boolean excelCompressTempFiles) {
+        this(excelRowWindow, excelCompressTempFiles, EXCEL_MAX_ROWS_PER_SHEET);
+    }
+
+    /**
+     * @param maxRowsPerSheet Filas de cada hoja, encabezado incluido, antes de pasar a la siguiente
+     */
+    ExcelClientExporter(int excelRowWindow, boolean excelCompressTempFiles, int maxRowsPerSheet) {
+        this.excelRowWindow = excelRowWindow;
+        this.excelCompressTempFiles = excelCompressTempFiles;
+        this.maxRowsPerSheet = maxRowsPerSheet;
+    }
+
+    @Override
+    public String format() {
+        return "EXCEL";
+    }
+
+    @Override
+    public String contentType() {
+        return "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    }
+
+    @Override
+    public String fileExtension() {
+        return "xlsx";
+    }
+
+    @Override
+    public void export(Stream<ClientDTO> clients, OutputStream outputStream, LongConsumer progress,
+                       ExportPhases phases) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(excelRowWindow);
+        workbook.setCompressTempFiles(excelCompressTempFiles);
+        try {
+            Sheet sheet = createExcelSheet(workbook);
+            int rowNum = 1;
+            long rowsWritten = 0;
+            for (ClientDTO client : (Iterable<ClientDTO>) clients::iterator) {
+                phases.lap(Phase.QUERY);
+                if (rowNum == maxRowsPerSheet) {
+                    sheet = createExcelSheet(workbook);
+                    rowNum = 1;
+                }
+                Row row = sheet.createRow(rowNum++);
+                row.createCell(0).setCellValue(client.getId());
+                row.createCell(1).setCellValue(client.getSharedKey());
+                row.createCell(2).setCellValue(client.getName());
+                row.createCell(3).setCellValue(client.getEmail());
+                row.createCell(4).setCellValue(client.getPhone());
+                row.createCell(5).setCellValue(client.getCreatedAt() != null ? client.getCreatedAt().toString() : "");
+                phases.rowExported();
+                phases.lap(Phase.SERIALIZATION);
+                progress.accept(++rowsWritten);
+            }
+
+            workbook.write(outputStream);
+            phases.lap(Phase.WRITE);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * Crea una nueva hoja con la fila de encabezados. Las hojas adicionales se
+     * numeran a partir de la segunda cuando se supera el límite de filas de Excel.
+     */
+    private Sheet createExcelSheet(Workbook workbook) {
+        int sheetCount = workbook.getNumberOfSheets();
+        Sheet sheet = workbook.createSheet(sheetCount == 0 ? "Clients" : "Clients " + (sheetCount + 1));
+
+        Row headerRow = sheet.createRow(0);
+        for (int i = 0; i < ClientCsvFormat.HEADERS.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(ClientCsvFormat.HEADERS[i]);
+        }
+        return sheet;
+    }
+}
@@ -0,0 +1,78 @@
+package com.alianza.clients.service.export;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reparte el tiempo de una exportación entre sus fases. Las fases se intercalan fila a fila
+ * (leer, serializar), así que cada llamada a {@link #lap(Phase)} asigna a la fase
+ * indicada el tiempo transcurrido desde la marca anterior.
+ */
+public final class ExportPhases {
+
+    public enum Phase {
+        /** Apertura del cursor y lectura de cada fila, ya proyectada sobre DTO en la consulta. */
+        QUERY,
+        /** Codificación de la fila en el formato de salida. */
+        SERIALIZATION,
+        /** Volcado final del contenido al flujo de salida. */
+        WRITE
+    }
+
+    private final long[] nanos = new long[Phase.values().length];
+    private long mark = System.nanoTime();
+    private long rows;
+
+    public void lap(Phase phase) {
+        long now = System.nanoTime();
+        nanos[phase.ordinal()] += now - mark;
+        mark = now;
+    }
+
+    /**
+     * Descarta el tiempo transcurrido desde la marca anterior, p. ej. la espera a otros hilos.
+     */
+    public void skip() {
+        mark = System.nanoTime();
+    }
+
+    public void rowExported() {
+        rows++;
+    }
+
+    /**
+     * Suma los tiempos y filas de otra exportación, p. ej. de cada partición de una exportación paralela.
+     */
+    public void add(ExportPhases other) {
+        for (int i = 0; i < nanos.length; i++) {
+            nanos[i] += other.nanos[i];
+        }
+        rows += other.rows;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    /**
+     * Publica la duración de cada fase (clients.export.phase) y las filas exportadas (clients.export.rows).
+     */
+    public void record(MeterRegistry meterRegistry, String format) {
+        for (Phase phase : Phase.values()) {
+            Timer.builder("clients.export.phase")
+                    .description("Tiempo acumulado de cada fase de la exportación")
+                    .tag("format", format)
+                    .tag("phase", phase.name().toLowerCase())
+                    .register(meterRegistry)
+                    .record(nanos[phase.ordinal()], TimeUnit.NANOSECONDS);
+        }
+        Counter.builder("clients.export.rows")
+                .description("Filas exportadas")
+                .tag("format", format)
+                .register(meterRegistry)
+                .increment(rows);
+    }
+}
@@ -0,0 +1,49 @@
+package com.alianza.clients.service.export;
+
+import com.alianza.clients.dto.ClientDTO;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportación CSV comprimida con gzip a medida que se escribe.
+ */
+@Component
+public class GzipCsvClientExporter implements ClientExporter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final CsvClientExporter csvExporter;
+
+    public GzipCsvClientExporter(CsvClientExporter csvExporter) {
+        this.csvExporter = csvExporter;
+    }
+
+    @Override
+    public String format() {
+        return "CSV_GZIP";
+    }
+
+    @Override
+    public String contentType() {
+        return "application/gzip";
+    }
+
+    @Override
+    public String fileExtension() {
+        return "csv.gz";
+    }
+
+    @Override
+    public void export(Stream<ClientDTO> clients, OutputStream outputStream, LongConsumer progress,
+                       ExportPhases phases) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(outputStream, BUFFER_SIZE);
+        csvExporter.export(clients, gzip, progress, phases);
+        // finish() escribe el final del archivo gzip sin cerrar el flujo de salida
+        gzip.finish();
+        phases.lap(ExportPhases.Phase.WRITE);
+    }
+}
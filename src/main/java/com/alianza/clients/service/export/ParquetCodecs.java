@@ -0,0 +1,110 @@
+package com.alianza.clients.service.export;
+
+import com.github.luben.zstd.Zstd;
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.compression.CompressionCodecFactory;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.xerial.snappy.Snappy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Códecs de las páginas Parquet sin Hadoop. El CodecFactory de parquet-hadoop carga la Configuration
+ * y los códecs de Hadoop aunque el destino sea un {@link org.apache.parquet.io.OutputFile}; estos
+ * comprimen con snappy-java y zstd-jni, que ya son dependencias de parquet-hadoop, y con java.util.zip.
+ */
+final class ParquetCodecs implements CompressionCodecFactory {
+
+    private static final Set<CompressionCodecName> SUPPORTED = EnumSet.of(
+            CompressionCodecName.UNCOMPRESSED, CompressionCodecName.SNAPPY,
+            CompressionCodecName.GZIP, CompressionCodecName.ZSTD);
+
+    /**
+     * Nivel por defecto de ZSTD en parquet-hadoop (parquet.compression.codec.zstd.level).
+     */
+    private static final int ZSTD_LEVEL = 3;
+
+    @Override
+    public BytesInputCompressor getCompressor(CompressionCodecName codec) {
+        return new Codec(requireSupported(codec));
+    }
+
+    @Override
+    public BytesInputDecompressor getDecompressor(CompressionCodecName codec) {
+        return new Codec(requireSupported(codec));
+    }
+
+    @Override
+    public void release() {
+    }
+
+    /**
+     * @throws IllegalArgumentException Si el códec no está soportado
+     */
+    static CompressionCodecName requireSupported(CompressionCodecName codec) {
+        if (!SUPPORTED.contains(codec)) {
+            throw new IllegalArgumentException("Códec Parquet no soportado: " + codec + "; use uno de " + SUPPORTED);
+        }
+        return codec;
+    }
+
+    /**
+     * Compresor y descompresor sin estado de un códec.
+     */
+    private record Codec(CompressionCodecName codec) implements BytesInputCompressor, BytesInputDecompressor {
+
+        @Override
+        public BytesInput compress(BytesInput bytes) throws IOException {
+            return switch (codec) {
+                case SNAPPY -> BytesInput.from(Snappy.compress(bytes.toByteArray()));
+                case ZSTD -> BytesInput.from(Zstd.compress(bytes.toByteArray(), ZSTD_LEVEL));
+                case GZIP -> {
+                    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+                    try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                        bytes.writeAllTo(gzip);
+                    }
+                    yield BytesInput.from(compressed);
+                }
+                default -> bytes;
+            };
+        }
+
+        @Override
+        public BytesInput decompress(BytesInput bytes, int uncompressedSize) throws IOException {
+            return switch (codec) {
+                case SNAPPY -> BytesInput.from(Snappy.uncompress(bytes.toByteArray()));
+                case ZSTD -> BytesInput.from(Zstd.decompress(bytes.toByteArray(), uncompressedSize));
+                case GZIP -> {
+                    try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                        yield BytesInput.from(gzip.readNBytes(uncompressedSize));
+                    }
+                }
+                default -> bytes;
+            };
+        }
+
+        @Override
+        public void decompress(ByteBuffer input, int compressedSize, ByteBuffer output, int uncompressedSize)
+                throws IOException {
+            byte[] compressed = new byte[compressedSize];
+            input.get(compressed);
+            output.put(decompress(BytesInput.from(compressed), uncompressedSize).toByteBuffer());
+        }
+
+        @Override
+        public CompressionCodecName getCodecName() {
+            return codec;
+        }
+
+        @Override
+        public void release() {
+        }
+    }
+}
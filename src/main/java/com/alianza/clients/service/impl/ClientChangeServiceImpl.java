@@ -0,0 +1,147 @@
+package com.alianza.clients.service.impl;
+
+import com.alianza.clients.dto.ClientChangeCursor;
+import com.alianza.clients.dto.ClientChangeRow;
+import com.alianza.clients.dto.ClientChangesDTO;
+import com.alianza.clients.event.ClientsChangedEvent;
+import com.alianza.clients.exception.BadRequestException;
+import com.alianza.clients.exception.ServiceUnavailableException;
+import com.alianza.clients.repository.IClientRepository;
+import com.alianza.clients.service.IClientChangeService;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feed de cambios de clientes con marca de agua sobre (changeXid, id) y espera larga (long-poll).
+ * <p>
+ * Solo se entregan las filas escritas por transacciones anteriores al xmin de la instantánea actual
+ * ({@link IClientRepository#findChangeHorizon()}): una transacción que sigue abierta, por larga que sea,
+ * retiene las posteriores en lugar de confirmar por detrás de la marca de agua de un consumidor.
+ * <p>
+ * Las consultas en espera se despiertan en cuanto este nodo confirma un cambio
+ * ({@link ClientsChangedEvent}), y los cambios escritos a través de otros nodos se detectan
+ * consultando el feed cada clients.changes.poll-interval mientras haya consultas en espera.
+ */
+@Service
+@Timed(value = "clients.service", description = "Tiempo de los métodos del servicio de clientes")
+public class ClientChangeServiceImpl implements IClientChangeService {
+    private static final Logger logger = LoggerFactory.getLogger(ClientChangeServiceImpl.class);
+
+    private final IClientRepository clientRepository;
+    private final Executor executor;
+    private final Duration maxWait;
+    private final int maxWaiters;
+    private final int maxPageSize;
+    /**
+     * Consultas en espera, con la transacción de su marca de agua (-1 si empiezan desde el principio).
+     */
+    private final Map<CompletableFuture<Void>, Long> waiters = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param clientRepository Repositorio de clientes
+     * @param executor Ejecutor de las consultas que se resuelven tras una espera
+     * @param maxWait Tiempo máximo de espera permitido en una consulta
+     * @param maxWaiters Número máximo de consultas en espera simultáneas
+     * @param maxPageSize Número máximo de clientes por respuesta
+     */
+    public ClientChangeServiceImpl(IClientRepository clientRepository,
+                                   @Qualifier("applicationTaskExecutor") Executor executor,
+                                   @Value("${clients.changes.max-wait:PT60S}") Duration maxWait,
+                                   @Value("${clients.changes.max-waiters:1000}") int maxWaiters,
+                                   @Value("${clients.page.max-size:500}") int maxPageSize) {
+        this.clientRepository = clientRepository;
+        this.executor = executor;
+        this.maxWait = maxWait;
+        this.maxWaiters = maxWaiters;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Override
+    public CompletableFuture<ClientChangesDTO> getChanges(String since, int limit, Duration wait) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new BadRequestException("El límite debe estar entre 1 y " + maxPageSize);
+        }
+        if (wait.isNegative() || wait.compareTo(maxWait) > 0) {
+            throw new BadRequestException("La espera debe estar entre 0 y " + maxWait.toSeconds() + " segundos");
+        }
+
+        ClientChangeCursor watermark = ClientChangeCursor.decode(since);
+        ClientChangesDTO changes = findChanges(watermark, since, limit);
+        if (!changes.getContent().isEmpty() || wait.isZero()) {
+            return CompletableFuture.completedFuture(changes);
+        }
+
+        if (waiters.size() >= maxWaiters) {
+            throw new ServiceUnavailableException("Hay demasiadas consultas de cambios en espera. Intente más tarde.");
+        }
+        CompletableFuture<Void> signal = new CompletableFuture<>();
+        waiters.put(signal, watermark == null ? -1 : watermark.changeXid());
+        return signal.completeOnTimeout(null, wait.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((ignored, e) -> waiters.remove(signal))
+                .thenApplyAsync(ignored -> findChanges(watermark, since, limit), executor);
+    }
+
+    /**
+     * Despierta las consultas en espera tras confirmarse un alta o una importación.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientsChanged(ClientsChangedEvent event) {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        List<CompletableFuture<Void>> waiting = List.copyOf(waiters.keySet());
+        logger.debug("{} clients changed, waking {} change feed waiters", event.count(), waiting.size());
+        waiting.forEach(signal -> signal.complete(null));
+    }
+
+    /**
+     * Despierta las consultas en espera cuyo feed tiene cambios que otro nodo ha confirmado, y que
+     * por tanto no han publicado aquí su {@link ClientsChangedEvent}. Sin consultas en espera no se
+     * consulta la base de datos.
+     */
+    @Scheduled(fixedDelayString = "${clients.changes.poll-interval:PT1S}")
+    public void pollForChanges() {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        Long latestChangeXid = clientRepository.findLatestChangeXid();
+        if (latestChangeXid == null) {
+            return;
+        }
+        waiters.forEach((signal, afterChangeXid) -> {
+            if (latestChangeXid > afterChangeXid) {
+                signal.complete(null);
+            }
+        });
+    }
+
+    private ClientChangesDTO findChanges(ClientChangeCursor watermark, String since, int limit) {
+        long horizon = clientRepository.findChangeHorizon();
+        List<ClientChangeRow> rows = watermark == null
+                ? clientRepository.findChanges(horizon, Limit.of(limit))
+                : clientRepository.findChangesAfter(watermark.changeXid(), watermark.id(), horizon, Limit.of(limit));
+
+        return ClientChangesDTO.builder()
+                .content(rows.stream().map(ClientChangeRow::toDTO).toList())
+                .size(rows.size())
+                .watermark(rows.isEmpty() ? since : rows.get(rows.size() - 1).cursor().encode())
+                .build();
+    }
+}
@@ -0,0 +1,295 @@
+package com.alianza.clients.service.impl;
+
+import com.alianza.clients.config.CacheConfig;
+import com.alianza.clients.dto.BulkImportResultDTO;
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.event.ClientsChangedEvent;
+import com.alianza.clients.exception.BadRequestException;
+import com.alianza.clients.mapper.ClientMapper;
+import com.alianza.clients.model.Client;
+import com.alianza.clients.repository.ClientBatchRepository;
+import com.alianza.clients.service.IClientImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de clientes por lotes JDBC.
+ */
+@Service
+@Timed(value = "clients.service", description = "Tiempo de los métodos del servicio de clientes")
+public class ClientImportServiceImpl implements IClientImportService {
+    private static final Logger logger = LoggerFactory.getLogger(ClientImportServiceImpl.class);
+
+    private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setIgnoreHeaderCase(true)
+            .setTrim(true)
+            .build();
+
+    private final ClientBatchRepository clientBatchRepository;
+    private final ClientMapper clientMapper;
+    private final Validator validator;
+    private final ObjectReader clientReader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param clientBatchRepository Repositorio de inserciones masivas
+     * @param clientMapper Mapeador entre entidad y DTO
+     * @param validator Validador de las filas importadas
+     * @param objectMapper Mapeador JSON para las filas NDJSON
+     * @param eventPublisher Publicador de los eventos de cambios de clientes
+     * @param chunkSize Número de filas por sentencia INSERT
+     * @param maxReportedErrors Número máximo de errores por fila incluidos en la respuesta
+     */
+    public ClientImportServiceImpl(ClientBatchRepository clientBatchRepository, ClientMapper clientMapper,
+                                   Validator validator, ObjectMapper objectMapper,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Value("${clients.bulk.chunk-size:1000}") int chunkSize,
+                                   @Value("${clients.bulk.max-reported-errors:1000}") int maxReportedErrors) {
+        this.clientBatchRepository = clientBatchRepository;
+        this.clientMapper = clientMapper;
+        this.validator = validator;
+        this.clientReader = objectMapper.readerFor(ClientDTO.class);
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = Math.min(Math.max(chunkSize, 1), ClientBatchRepository.MAX_BATCH_SIZE);
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.ALL_CLIENTS, CacheConfig.CLIENTS_BY_SHARED_KEY, CacheConfig.CLIENTS_VERSION},
+            allEntries = true)
+    public BulkImportResultDTO importClients(InputStream inputStream, String format) throws IOException {
+        logger.info("Importing clients from {} file", format);
+
+        ImportBatch batch = new ImportBatch();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        if ("CSV".equalsIgnoreCase(format)) {
+            importCsv(reader, batch);
+        } else if ("NDJSON".equalsIgnoreCase(format)) {
+            importNdjson(reader, batch);
+        } else {
+            throw new BadRequestException("Formato de importación no soportado: " + format);
+        }
+        batch.flush();
+        if (batch.imported > 0) {
+            eventPublisher.publishEvent(new ClientsChangedEvent(batch.imported));
+        }
+
+        logger.info("Imported {} of {} clients", batch.imported, batch.totalRows);
+        return BulkImportResultDTO.builder()
+                .totalRows(batch.totalRows)
+                .imported(batch.imported)
+                .failed(batch.failed)
+                .errors(batch.errors)
+                .build();
+    }
+
+    private void importCsv(BufferedReader reader, ImportBatch batch) throws IOException {
+        LineCountingReader lineReader = new LineCountingReader(reader);
+        try (CSVParser parser = CSV_FORMAT.parse(lineReader)) {
+            for (CSVRecord record : parser) {
+                ClientDTO clientDTO = ClientDTO.builder()
+                        .name(column(record, "name"))
+                        .email(column(record, "email"))
+                        .phone(column(record, "phone"))
+                        .build();
+                // Un campo entrecomillado puede ocupar varias líneas: se informa la línea en que empieza el registro
+                batch.add(lineReader.lineAt(record.getCharacterPosition()), clientDTO);
+            }
+        }
+    }
+
+    private static String column(CSVRecord record, String name) {
+        if (!record.isSet(name)) {
+            return null;
+        }
+        String value = record.get(name);
+        return value.isEmpty() ? null : value;
+    }
+
+    private void importNdjson(BufferedReader reader, ImportBatch batch) throws IOException {
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                batch.add(lineNumber, clientReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                batch.reject(lineNumber, "JSON inválido: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * Lector que anota dónde empieza cada línea no vacía, para traducir la posición de un registro CSV
+     * ({@link CSVRecord#getCharacterPosition()}) en su número de línea. La posición de un registro
+     * precedido de líneas vacías apunta a la primera de ellas, que el analizador salta.
+     */
+    private static final class LineCountingReader extends FilterReader {
+        private final ArrayDeque<LineStart> lineStarts = new ArrayDeque<>();
+        private long position;
+        private long line;
+        private boolean atLineStart = true;
+
+        LineCountingReader(Reader reader) {
+            super(reader);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int c = super.read();
+            if (c != -1) {
+                count((char) c);
+            }
+            return c;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            for (int i = 0; i < read; i++) {
+                count(buffer[offset + i]);
+            }
+            return read;
+        }
+
+        private void count(char c) {
+            if (atLineStart) {
+                line++;
+                atLineStart = false;
+                if (c != '\n' && c != '\r') {
+                    lineStarts.add(new LineStart(position, line));
+                }
+            }
+            if (c == '\n') {
+                atLineStart = true;
+            }
+            position++;
+        }
+
+        /**
+         * Número de la primera línea no vacía a partir de la posición indicada.
+         * Las posiciones consultadas deben ser crecientes: las líneas anteriores se descartan.
+         */
+        long lineAt(long characterPosition) {
+            while (!lineStarts.isEmpty() && lineStarts.peekFirst().position() < characterPosition) {
+                lineStarts.removeFirst();
+            }
+            return lineStarts.isEmpty() ? line : lineStarts.peekFirst().number();
+        }
+
+        private record LineStart(long position, long number) {
+        }
+    }
+
+    /**
+     * Acumula las filas válidas y las inserta en bloques de {@code chunkSize}.
+     */
+    private class ImportBatch {
+        private final List<Client> pending = new ArrayList<>(chunkSize);
+        private final List<Long> pendingLines = new ArrayList<>(chunkSize);
+        private final List<BulkImportResultDTO.RowError> errors = new ArrayList<>();
+        private long totalRows;
+        private long imported;
+        private long failed;
+
+        void add(long line, ClientDTO clientDTO) {
+            totalRows++;
+
+            Set<ConstraintViolation<ClientDTO>> violations = validator.validate(clientDTO);
+            if (!violations.isEmpty()) {
+                failed++;
+                addError(line, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+
+            clientDTO.setId(UUID.randomUUID().toString());
+            clientDTO.setSharedKey(SharedKeyGenerator.generate(clientDTO.getEmail()));
+            pending.add(clientMapper.toEntity(clientDTO));
+            pendingLines.add(line);
+
+            if (pending.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String message) {
+            totalRows++;
+            failed++;
+            addError(line, message);
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                Set<String> inserted = clientBatchRepository.insertIgnoringDuplicates(pending);
+                for (int i = 0; i < pending.size(); i++) {
+                    Client client = pending.get(i);
+                    // Una sharedKey repetida dentro del mismo lote solo se inserta una vez
+                    if (inserted.remove(client.getSharedKey())) {
+                        imported++;
+                    } else {
+                        failed++;
+                        addError(pendingLines.get(i), "El sharedKey '" + client.getSharedKey()
+                                + "' o el email '" + client.getEmail() + "' ya existen");
+                    }
+                }
+            } catch (DataAccessException e) {
+                logger.error("Error inserting bulk import chunk", e);
+                failed += pending.size();
+                for (Long line : pendingLines) {
+                    addError(line, "Error al guardar el lote: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+            pending.clear();
+            pendingLines.clear();
+        }
+
+        private void addError(long line, String message) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new BulkImportResultDTO.RowError(line, message));
+            }
+        }
+    }
+}
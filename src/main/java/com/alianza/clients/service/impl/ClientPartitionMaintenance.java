@@ -0,0 +1,63 @@
+package com.alianza.clients.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Crea por adelantado las particiones mensuales de la tabla client (función client_create_partitions
+ * de la migración V4) para que las altas no caigan en la partición por defecto. Se ejecuta al arrancar
+ * y cada clients.partitions.check-interval; si varios nodos coinciden, la función los serializa.
+ */
+@Component
+public class ClientPartitionMaintenance {
+    private static final Logger logger = LoggerFactory.getLogger(ClientPartitionMaintenance.class);
+
+    private static final String CREATE_PARTITIONS = "select client_create_partitions(?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param jdbcTemplate Plantilla JDBC sobre el primario
+     * @param monthsAhead Número de meses posteriores al actual que deben tener partición
+     */
+    public ClientPartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                      @Value("${clients.partitions.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        createPartitions();
+    }
+
+    /**
+     * Crea las particiones que falten desde el mes actual hasta {@code monthsAhead} meses después.
+     */
+    @Scheduled(fixedDelayString = "${clients.partitions.check-interval:PT12H}",
+            initialDelayString = "${clients.partitions.check-interval:PT12H}")
+    public void createPartitions() {
+        LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+        try {
+            Integer created = jdbcTemplate.queryForObject(CREATE_PARTITIONS, Integer.class,
+                    thisMonth, thisMonth.plusMonths(monthsAhead));
+            if (created != null && created > 0) {
+                logger.info("Created {} client partitions up to {}", created, thisMonth.plusMonths(monthsAhead));
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Could not create client partitions: {}", e.getMessage());
+        }
+    }
+}
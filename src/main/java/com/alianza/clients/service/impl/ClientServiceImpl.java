@@ -1,186 +1,322 @@
 package com.alianza.clients.service.impl;
 
+import com.alianza.clients.config.CacheConfig;
+import com.alianza.clients.dto.ClientCursor;
 import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.dto.ClientKeysetRow;
+import com.alianza.clients.dto.ClientPageDTO;
 import com.alianza.clients.dto.ClientSearchCriteria;
+import com.alianza.clients.dto.ClientsVersion;
+import com.alianza.clients.dto.Versioned;
+import com.alianza.clients.event.ClientsChangedEvent;
+import com.alianza.clients.exception.BadRequestException;
 import com.alianza.clients.exception.DuplicateKeyException;
 import com.alianza.clients.exception.ResourceNotFoundException;
 import com.alianza.clients.mapper.ClientMapper;
 import com.alianza.clients.model.Client;
 import com.alianza.clients.repository.IClientRepository;
-import com.alianza.clients.repository.specification.ClientSpecification;
+import com.alianza.clients.repository.LikePatterns;
 import com.alianza.clients.service.IClientService;
+import com.alianza.clients.service.export.ClientExporter;
+import com.alianza.clients.service.export.ClientExporterRegistry;
+import com.alianza.clients.service.export.CsvClientExporter;
+import com.alianza.clients.service.export.ExportPhases;
 
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVPrinter;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
 
 /**
  * Servicios de gestión de clientes.
  */
 @Service
+@Timed(value = "clients.service", description = "Tiempo de los métodos del servicio de clientes")
 public class ClientServiceImpl implements IClientService {
     private static final Logger logger = LoggerFactory.getLogger(ClientServiceImpl.class);
-    private static final String[] CSV_HEADERS = {"ID", "Shared Key", "Business ID", "Email", "Phone", "Created At"};
-    private static final String[] EXCEL_HEADERS = {"ID", "Shared Key", "Business ID", "Email", "Phone", "Created At"};
+    private static final Comparator<ClientDTO> SEARCH_ORDER = Comparator
+            .comparing(ClientDTO::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(ClientDTO::getId);
 
     private final IClientRepository clientRepository;
     private final ClientMapper clientMapper;
+    private final Cache sharedKeyCache;
+    private final MeterRegistry meterRegistry;
+    private final ObjectWriter ndjsonWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClientExporterRegistry exporterRegistry;
+    private final ParallelCsvExporter parallelCsvExporter;
+    private final TransactionTemplate exportTransaction;
+    private final InMemoryClientSearch inMemorySearch;
+    private final int maxPageSize;
 
     /**
      * Constructor con inyección de dependencias.
      *
      * @param clientRepository Repositorio de clientes
      * @param clientMapper Mapeador entre entidad y DTO
+     * @param cacheManager Gestor de cachés de las consultas de lectura
+     * @param meterRegistry Registro de métricas de las exportaciones
+     * @param objectMapper Mapeador JSON para el volcado NDJSON
+     * @param eventPublisher Publicador de los eventos de cambios de clientes
+     * @param exporterRegistry Formatos de exportación disponibles
+     * @param parallelCsvExporter Exportación CSV por particiones, usada cuando está activada
+     * @param transactionManager Gestor de la transacción de lectura de las exportaciones secuenciales
+     * @param inMemorySearch Búsqueda sobre el índice en memoria, usada cuando está cargado
+     * @param maxPageSize Tamaño máximo de página permitido en las consultas paginadas
      */
     @Autowired
-    public ClientServiceImpl(IClientRepository clientRepository, ClientMapper clientMapper) {
+    public ClientServiceImpl(IClientRepository clientRepository, ClientMapper clientMapper, CacheManager cacheManager,
+                             MeterRegistry meterRegistry, ObjectMapper objectMapper,
+                             ApplicationEventPublisher eventPublisher, ClientExporterRegistry exporterRegistry,
+                             ParallelCsvExporter parallelCsvExporter, PlatformTransactionManager transactionManager,
+                             InMemoryClientSearch inMemorySearch,
+                             @Value("${clients.page.max-size:500}") int maxPageSize) {
         this.clientRepository = clientRepository;
         this.clientMapper = clientMapper;
+        this.sharedKeyCache = cacheManager.getCache(CacheConfig.CLIENTS_BY_SHARED_KEY);
+        this.meterRegistry = meterRegistry;
+        // Una línea por objeto, sin vaciar el flujo tras cada uno ni cerrarlo al terminar: lo gestiona quien lo abrió
+        this.ndjsonWriter = objectMapper.writerFor(ClientDTO.class)
+                .withRootValueSeparator("")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.eventPublisher = eventPublisher;
+        this.exporterRegistry = exporterRegistry;
+        this.parallelCsvExporter = parallelCsvExporter;
+        this.exportTransaction = new TransactionTemplate(transactionManager);
+        this.exportTransaction.setReadOnly(true);
+        this.inMemorySearch = inMemorySearch;
+        this.maxPageSize = maxPageSize;
     }
 
     @Override
-    public List<ClientDTO> getAllClients() {
+    @Cacheable(CacheConfig.ALL_CLIENTS)
+    @Transactional(readOnly = true)
+    public Versioned<List<ClientDTO>> getAllClients() {
         logger.info("Fetching all clients");
-        return clientRepository.findAll().stream()
-                .map(clientMapper::toDTO)
-                .toList();
+        // La versión se lee antes que las filas, en la misma transacción: el listado refleja al menos esa versión
+        ClientsVersion version = clientRepository.findVersion();
+        return new Versioned<>(version, clientRepository.findAllAsDTO(null));
     }
 
     @Override
-    public List<ClientDTO> searchClientsBySharedKey(String sharedKey) {
-        logger.info("Searching clients with shared key: {}", sharedKey);
-        List<Client> clients = clientRepository.findBySharedKeyContainingIgnoreCase(sharedKey);
+    @Cacheable(CacheConfig.CLIENTS_VERSION)
+    public ClientsVersion getClientsVersion() {
+        return clientRepository.findVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Versioned<ClientPageDTO> getClientsPage(String cursor, int size) {
+        logger.info("Fetching clients page of size {}", size);
+        ClientsVersion version = clientRepository.findVersion();
+        return new Versioned<>(version, findPage(null, cursor, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Versioned<List<ClientDTO>> searchClientsBySharedKey(String sharedKey) {
+        // Hasta que el índice conoce la versión que contiene, la búsqueda va a la base de datos
+        ClientsVersion indexVersion = inMemorySearch.isReady() ? inMemorySearch.version() : null;
+        if (indexVersion != null) {
+            List<ClientDTO> clients = sorted(inMemorySearch.searchBySharedKey(sharedKey));
+            if (clients.isEmpty()) {
+                throw new ResourceNotFoundException("Cliente", "sharedKey", sharedKey);
+            }
+            return new Versioned<>(indexVersion, clients);
+        }
 
-        if (clients.isEmpty()) {
+        // Las búsquedas sin resultados también se cachean (con un TTL menor) para absorber fallos repetidos
+        Versioned<List<ClientDTO>> clients = sharedKeyCache.get(sharedKey.toLowerCase(), () -> {
+            logger.info("Searching clients with shared key: {}", sharedKey);
+            ClientsVersion version = clientRepository.findVersion();
+            return new Versioned<>(version,
+                    sorted(clientRepository.findBySharedKeyLike(LikePatterns.containsPattern(sharedKey))));
+        });
+
+        if (clients.body().isEmpty()) {
             throw new ResourceNotFoundException("Cliente", "sharedKey", sharedKey);
         }
 
-        return clients.stream()
-                .map(clientMapper::toDTO)
-                .toList();
+        return clients;
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.ALL_CLIENTS, CacheConfig.CLIENTS_BY_SHARED_KEY, CacheConfig.CLIENTS_VERSION},
+            allEntries = true)
     public ClientDTO createClient(ClientDTO clientDTO) {
         logger.info("Creating new client with email: {}", clientDTO.getEmail());
 
-        String sharedKey = generateSharedKey(clientDTO.getEmail());
-
-        if (clientRepository.existsBySharedKey(sharedKey)) {
-            throw new DuplicateKeyException("El sharedKey '" + sharedKey + "' ya existe. Por favor use un email diferente.");
-        }
-
+        String sharedKey = SharedKeyGenerator.generate(clientDTO.getEmail());
         clientDTO.setSharedKey(sharedKey);
 
         if (clientDTO.getId() == null || clientDTO.getId().isEmpty()) {
             clientDTO.setId(UUID.randomUUID().toString());
         }
 
+        // La unicidad la garantizan las restricciones de la tabla: un único INSERT, sin consulta previa
         try {
             Client client = clientMapper.toEntity(clientDTO);
-            Client savedClient = clientRepository.save(client);
-            return clientMapper.toDTO(savedClient);
-        } catch (DuplicateKeyException e) {
+            Client savedClient = clientRepository.saveAndFlush(client);
+            eventPublisher.publishEvent(new ClientsChangedEvent(1));
+            ClientDTO createdClient = clientMapper.toDTO(savedClient);
+            inMemorySearch.add(createdClient);
+            return createdClient;
+        } catch (DataIntegrityViolationException e) {
             logger.error("Data integrity violation when saving client", e);
-            throw new DuplicateKeyException("Error al guardar el cliente. Posible duplicación de datos.");
+            throw toDuplicateKeyException(e, clientDTO);
         }
     }
 
     /**
-     * Genera el sharedKey a partir del email del cliente.
-     * Se genera tomando la parte del email antes del símbolo @.
-     *
-     * @param email Email del cliente
-     * @return sharedKey generada
-     * @throws IllegalArgumentException si el email es nulo o no tiene formato válido
+     * Traduce la violación de una restricción única al mensaje correspondiente.
      */
-    private String generateSharedKey(String email) {
-        if (email == null || !email.contains("@")) {
-            throw new IllegalArgumentException("El email no es válido para generar sharedKey.");
+    private DuplicateKeyException toDuplicateKeyException(DataIntegrityViolationException e, ClientDTO clientDTO) {
+        String constraintName = e.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName() : null;
+
+        if (Client.SHARED_KEY_CONSTRAINT.equalsIgnoreCase(constraintName)) {
+            return new DuplicateKeyException("El sharedKey '" + clientDTO.getSharedKey() + "' ya existe. Por favor use un email diferente.");
+        }
+        if (Client.EMAIL_CONSTRAINT.equalsIgnoreCase(constraintName)) {
+            return new DuplicateKeyException("El email '" + clientDTO.getEmail() + "' ya está registrado.");
         }
-        return email.split("@")[0].toLowerCase();
+        return new DuplicateKeyException("Error al guardar el cliente. Posible duplicación de datos.");
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ClientDTO> searchClients(ClientSearchCriteria criteria) {
         logger.info("Searching clients with criteria: {}", criteria);
 
-        Specification<Client> spec = Specification.where(ClientSpecification.hasName(criteria.getName()))
-                .and(ClientSpecification.hasEmail(criteria.getEmail()))
-                .and(ClientSpecification.hasPhone(criteria.getPhone()))
-                .and(ClientSpecification.createdBetween(criteria.getStartDate(), criteria.getEndDate()));
+        if (inMemorySearch.isReady()) {
+            return sorted(inMemorySearch.search(criteria));
+        }
+        return sorted(clientRepository.findAllAsDTO(criteria));
+    }
 
-        return clientRepository.findAll(spec).stream()
-                .map(clientMapper::toDTO)
-                .toList();
+    /**
+     * Ordena los resultados de búsqueda por fecha de creación e id. El índice en memoria los devuelve
+     * en orden de inserción y la base de datos sin orden definido; ordenarlos aquí, con la fecha que
+     * ve el cliente, hace que la misma búsqueda responda igual por cualquiera de los dos caminos.
+     */
+    private static List<ClientDTO> sorted(List<ClientDTO> clients) {
+        List<ClientDTO> sorted = new ArrayList<>(clients);
+        sorted.sort(SEARCH_ORDER);
+        return sorted;
     }
 
     @Override
-    public Resource exportClients(ClientSearchCriteria criteria) throws IOException {
-        List<ClientDTO> clients = searchClients(criteria);
-        
-        if ("CSV".equalsIgnoreCase(criteria.getExportFormat())) {
-            return exportToCSV(clients);
-        } else if ("EXCEL".equalsIgnoreCase(criteria.getExportFormat())) {
-            return exportToExcel(clients);
-        } else {
-            throw new IllegalArgumentException("Formato de exportación no soportado: " + criteria.getExportFormat());
+    @Transactional(readOnly = true)
+    public ClientPageDTO searchClientsPage(ClientSearchCriteria criteria, String cursor, int size) {
+        logger.info("Searching clients page of size {} with criteria: {}", size, criteria);
+        return findPage(criteria, cursor, size);
+    }
+
+    /**
+     * Obtiene una página usando paginación por desplazamiento sobre (createdAt, id).
+     * Se lee un registro adicional para saber si existe una página siguiente sin
+     * ejecutar una consulta de conteo.
+     */
+    private ClientPageDTO findPage(ClientSearchCriteria criteria, String cursor, int size) {
+        if (size < 1 || size > maxPageSize) {
+            throw new BadRequestException("El tamaño de página debe estar entre 1 y " + maxPageSize);
+        }
+
+        List<ClientKeysetRow> rows = clientRepository.findKeysetPage(criteria, ClientCursor.decode(cursor), size + 1);
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = rows.get(size - 1).cursor().encode();
         }
+
+        return ClientPageDTO.builder()
+                .content(rows.stream().map(ClientKeysetRow::toDTO).toList())
+                .size(rows.size())
+                .nextCursor(nextCursor)
+                .build();
     }
 
-    private Resource exportToCSV(List<ClientDTO> clients) throws IOException {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        try (CSVPrinter csvPrinter = new CSVPrinter(new PrintWriter(out), CSVFormat.DEFAULT.withHeader(CSV_HEADERS))) {
-            for (ClientDTO client : clients) {
-                csvPrinter.printRecord(
-                    client.getId(),
-                    client.getSharedKey(),
-                    client.getEmail(),
-                    client.getPhone(),
-                    client.getCreatedAt()
-                );
+    @Override
+    @Transactional(readOnly = true)
+    public long streamClients(OutputStream outputStream) throws IOException {
+        logger.info("Streaming all clients as NDJSON");
+
+        long rowsWritten = 0;
+        try (Stream<ClientDTO> clients = clientRepository.streamAllAsDTO(null);
+             JsonGenerator generator = ndjsonWriter.createGenerator(outputStream)) {
+            for (ClientDTO client : (Iterable<ClientDTO>) clients::iterator) {
+                ndjsonWriter.writeValue(generator, client);
+                generator.writeRaw('\n');
+                rowsWritten++;
             }
         }
-        return new ByteArrayResource(out.toByteArray());
+        logger.info("Streamed {} clients", rowsWritten);
+        return rowsWritten;
     }
 
-    private Resource exportToExcel(List<ClientDTO> clients) throws IOException {
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Clients");
-            
-            Row headerRow = sheet.createRow(0);
-            for (int i = 0; i < EXCEL_HEADERS.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(EXCEL_HEADERS[i]);
-            }
+    @Override
+    public void exportClients(ClientSearchCriteria criteria, OutputStream outputStream) throws IOException {
+        exportClients(criteria, outputStream, rows -> { });
+    }
 
-            int rowNum = 1;
-            for (ClientDTO client : clients) {
-                Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(client.getId());
-                row.createCell(1).setCellValue(client.getSharedKey());
-                row.createCell(3).setCellValue(client.getEmail());
-                row.createCell(4).setCellValue(client.getPhone());
-                row.createCell(5).setCellValue(client.getCreatedAt() != null ? client.getCreatedAt().toString() : "");
-            }
+    /**
+     * Sin transacción envolvente: la exportación paralela abre las suyas, y una transacción exterior
+     * retendría una conexión más sin usarla. La secuencial lee en su propia transacción de solo lectura.
+     */
+    @Override
+    public void exportClients(ClientSearchCriteria criteria, OutputStream outputStream, LongConsumer progress)
+            throws IOException {
+        logger.info("Exporting clients with criteria: {}", criteria);
+
+        ClientExporter exporter = exporterRegistry.get(criteria.getExportFormat());
 
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            workbook.write(out);
-            return new ByteArrayResource(out.toByteArray());
+        ExportPhases phases = new ExportPhases();
+        try {
+            if (CsvClientExporter.FORMAT.equals(exporter.format()) && parallelCsvExporter.isEnabled()
+                    && parallelCsvExporter.tryExport(criteria, outputStream, progress, phases)) {
+                return;
+            }
+            exportTransaction.executeWithoutResult(status -> {
+                try (Stream<ClientDTO> clients = clientRepository.streamAllAsDTO(criteria)) {
+                    exporter.export(clients, outputStream, progress, phases);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            phases.record(meterRegistry, exporter.format());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,227 @@
+package com.alianza.clients.service.impl;
+
+import com.alianza.clients.dto.ClientSearchCriteria;
+import com.alianza.clients.dto.ExportJobDTO;
+import com.alianza.clients.exception.BadRequestException;
+import com.alianza.clients.exception.ResourceNotFoundException;
+import com.alianza.clients.exception.ServiceUnavailableException;
+import com.alianza.clients.service.IClientService;
+import com.alianza.clients.service.IExportJobService;
+import com.alianza.clients.service.export.ClientExporter;
+import com.alianza.clients.service.export.ClientExporterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exportaciones asíncronas de clientes escritas en disco por un pool acotado de trabajadores.
+ */
+@Service
+public class ExportJobServiceImpl implements IExportJobService {
+    private static final Logger logger = LoggerFactory.getLogger(ExportJobServiceImpl.class);
+
+    private final IClientService clientService;
+    private final ClientExporterRegistry exporterRegistry;
+    private final Path directory;
+    private final Duration ttl;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param clientService Servicio de clientes que genera el contenido de la exportación
+     * @param exporterRegistry Formatos de exportación disponibles
+     * @param directory Directorio donde se guardan los archivos exportados
+     * @param ttl Tiempo que se conserva un archivo desde que finaliza el trabajo
+     * @param workers Número de exportaciones que se ejecutan en paralelo
+     * @param queueCapacity Número de exportaciones que pueden esperar turno
+     * @param virtualThreads Indica si los trabajadores se ejecutan en hilos virtuales
+     * @throws IOException si no se puede crear el directorio de exportaciones
+     */
+    public ExportJobServiceImpl(IClientService clientService, ClientExporterRegistry exporterRegistry,
+                                @Value("${clients.export.jobs.directory:${java.io.tmpdir}/clients-exports}") Path directory,
+                                @Value("${clients.export.jobs.ttl:PT1H}") Duration ttl,
+                                @Value("${clients.export.jobs.workers:2}") int workers,
+                                @Value("${clients.export.jobs.queue-capacity:20}") int queueCapacity,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) throws IOException {
+        this.clientService = clientService;
+        this.exporterRegistry = exporterRegistry;
+        this.directory = Files.createDirectories(directory);
+        this.ttl = ttl;
+
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("export-job-", 1).factory()
+                : Thread.ofPlatform().name("export-job-", 1).daemon(true).factory();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public ExportJobDTO submitExport(ClientSearchCriteria criteria) {
+        ClientExporter exporter = exporterRegistry.get(criteria.getExportFormat());
+        String jobId = UUID.randomUUID().toString();
+        ExportJob job = new ExportJob(jobId, exporter.format(),
+                directory.resolve(jobId + "." + exporter.fileExtension()));
+
+        jobs.put(jobId, job);
+        try {
+            executor.execute(() -> run(job, criteria));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(jobId);
+            throw new ServiceUnavailableException("Hay demasiadas exportaciones en curso. Intente más tarde.");
+        }
+
+        logger.info("Export job {} submitted with criteria: {}", jobId, criteria);
+        return job.toDTO();
+    }
+
+    @Override
+    public ExportJobDTO getExportJob(String jobId) {
+        return findJob(jobId).toDTO();
+    }
+
+    @Override
+    public Resource getExportFile(String jobId) {
+        ExportJob job = findJob(jobId);
+        if (job.status != Status.COMPLETED) {
+            throw new BadRequestException("La exportación '" + jobId + "' no ha finalizado. Estado: " + job.status);
+        }
+        return new FileSystemResource(job.file);
+    }
+
+    /**
+     * Elimina los trabajos finalizados y sus archivos una vez vencido su tiempo de vida.
+     */
+    @Scheduled(fixedDelayString = "${clients.export.jobs.sweep-interval:PT5M}")
+    public void sweepExpiredJobs() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(ttl);
+        jobs.values().removeIf(job -> {
+            if (job.completedAt == null || job.completedAt.isAfter(expiredBefore)) {
+                return false;
+            }
+            deleteFile(job);
+            logger.info("Export job {} expired", job.id);
+            return true;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(ExportJob job, ClientSearchCriteria criteria) {
+        job.startedNanos = System.nanoTime();
+        job.status = Status.RUNNING;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(job.file))) {
+            clientService.exportClients(criteria, out, job.rowsWritten::set);
+            out.flush();
+            job.complete(Status.COMPLETED, null);
+            logger.info("Export job {} completed with {} rows", job.id, job.rowsWritten.get());
+        } catch (Exception e) {
+            logger.error("Export job {} failed: {}", job.id, e.getMessage(), e);
+            deleteFile(job);
+            job.complete(Status.FAILED, e.getMessage());
+        }
+    }
+
+    private ExportJob findJob(String jobId) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Exportación", "id", jobId);
+        }
+        return job;
+    }
+
+    private static void deleteFile(ExportJob job) {
+        try {
+            Files.deleteIfExists(job.file);
+        } catch (IOException e) {
+            logger.warn("Could not delete export file {}: {}", job.file, e.getMessage());
+        }
+    }
+
+    private enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    /**
+     * Estado en memoria de un trabajo de exportación.
+     */
+    private static class ExportJob {
+        private final String id;
+        private final String exportFormat;
+        private final Path file;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final AtomicLong rowsWritten = new AtomicLong();
+        private volatile Status status = Status.PENDING;
+        private volatile long startedNanos;
+        private volatile long elapsedNanos;
+        private volatile LocalDateTime completedAt;
+        private volatile String error;
+
+        ExportJob(String id, String exportFormat, Path file) {
+            this.id = id;
+            this.exportFormat = exportFormat;
+            this.file = file;
+        }
+
+        void complete(Status finalStatus, String errorMessage) {
+            this.elapsedNanos = System.nanoTime() - startedNanos;
+            this.error = errorMessage;
+            this.completedAt = LocalDateTime.now();
+            this.status = finalStatus;
+        }
+
+        ExportJobDTO toDTO() {
+            Status current = status;
+            long elapsed = switch (current) {
+                case PENDING -> 0;
+                case RUNNING -> System.nanoTime() - startedNanos;
+                case COMPLETED, FAILED -> elapsedNanos;
+            };
+            Long fileSize = null;
+            if (current == Status.COMPLETED) {
+                try {
+                    fileSize = Files.size(file);
+                } catch (IOException e) {
+                    logger.warn("Could not read size of export file {}: {}", file, e.getMessage());
+                }
+            }
+            return ExportJobDTO.builder()
+                    .id(id)
+                    .status(current.name())
+                    .exportFormat(exportFormat)
+                    .rowsWritten(rowsWritten.get())
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                    .submittedAt(submittedAt)
+                    .completedAt(completedAt)
+                    .fileSize(fileSize)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.alianza.clients.service.impl;
+
+import com.alianza.clients.dto.ClientChangeCursor;
+import com.alianza.clients.dto.ClientChangeHorizon;
+import com.alianza.clients.dto.ClientChangeRow;
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.dto.ClientSearchCriteria;
+import com.alianza.clients.dto.ClientsVersion;
+import com.alianza.clients.repository.IClientRepository;
+import com.alianza.clients.service.index.ClientSearchIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Búsqueda de clientes sobre un {@link ClientSearchIndex} en memoria (clients.search-index.enabled=true).
+ * <p>
+ * Al arrancar se carga la instantánea del índice, si existe, y se completa con el feed de cambios
+ * (changeXid, id) a partir de la marca de agua guardada con ella; hasta entonces las búsquedas van a la
+ * base de datos. Los clientes creados en este nodo se añaden al crearse y el resto (importaciones
+ * masivas, otros nodos) con el feed cada clients.search-index.refresh-interval. Como en el feed de
+ * cambios, solo se leen las filas de transacciones anteriores a {@link IClientRepository#findChangeHorizon()}.
+ * <p>
+ * La versión del índice ({@link #version()}) es la de la última actualización en la que no había
+ * transacciones en curso: solo entonces se sabe que el índice contiene todo lo que esa versión incluye.
+ */
+@Component
+public class InMemoryClientSearch implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryClientSearch.class);
+
+    private final IClientRepository clientRepository;
+    private final Executor executor;
+    private final boolean enabled;
+    private final Path snapshot;
+    private final int batchSize;
+
+    private volatile ClientSearchIndex index = new ClientSearchIndex();
+    private volatile boolean started;
+    private volatile boolean ready;
+    private volatile ClientsVersion version;
+    private ClientChangeCursor watermark;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param clientRepository Repositorio de clientes
+     * @param executor Ejecutor de la carga inicial del índice
+     * @param enabled Indica si las búsquedas se resuelven con el índice en memoria
+     * @param snapshot Archivo de la instantánea del índice; vacío para cargarlo siempre desde la base de datos
+     * @param batchSize Número de filas leídas del feed de cambios en cada consulta
+     */
+    public InMemoryClientSearch(IClientRepository clientRepository,
+                                @Qualifier("applicationTaskExecutor") Executor executor,
+                                @Value("${clients.search-index.enabled:false}") boolean enabled,
+                                @Value("${clients.search-index.snapshot:}") String snapshot,
+                                @Value("${clients.search-index.batch-size:10000}") int batchSize) {
+        this.clientRepository = clientRepository;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.snapshot = snapshot.isBlank() ? null : Path.of(snapshot);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Indica si el índice está cargado y puede responder a las búsquedas.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Versión de los clientes que el índice contiene por completo. Puede contener además cambios
+     * posteriores, así que sirve de ETag débil de sus resultados.
+     *
+     * @return Versión del índice, o null si todavía no se conoce
+     */
+    public ClientsVersion version() {
+        return version;
+    }
+
+    /**
+     * Añade un cliente recién creado al índice.
+     *
+     * @param client Cliente creado
+     */
+    public void add(ClientDTO client) {
+        if (enabled) {
+            index.add(client);
+        }
+    }
+
+    /**
+     * @see ClientSearchIndex#searchBySharedKey(String)
+     */
+    public List<ClientDTO> searchBySharedKey(String sharedKey) {
+        return index.searchBySharedKey(sharedKey);
+    }
+
+    /**
+     * @see ClientSearchIndex#search(ClientSearchCriteria)
+     */
+    public List<ClientDTO> search(ClientSearchCriteria criteria) {
+        return index.search(criteria);
+    }
+
+    /**
+     * Carga el índice en segundo plano una vez arrancada la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            started = true;
+            executor.execute(this::load);
+        }
+    }
+
+    /**
+     * Añade los cambios del feed posteriores a la marca de agua, o reintenta la carga si falló.
+     */
+    @Scheduled(fixedDelayString = "${clients.search-index.refresh-interval:PT10S}")
+    public void refresh() {
+        if (!started) {
+            return;
+        }
+        if (!ready) {
+            load();
+            return;
+        }
+        try {
+            int added = catchUp();
+            if (added > 0) {
+                logger.debug("Added {} clients to the search index", added);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not refresh the client search index: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ready) {
+            writeSnapshot();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("clients.search.index.clients", this, search -> search.index.size())
+                .description("Clientes del índice de búsqueda en memoria")
+                .register(registry);
+        Gauge.builder("clients.search.index.memory", this, search -> search.index.memoryBytes())
+                .description("Memoria reservada por el índice de búsqueda en memoria")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("clients.search.index.memory.per.million", this, InMemoryClientSearch::bytesPerMillion)
+                .description("Memoria del índice de búsqueda en memoria por cada millón de clientes")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private double bytesPerMillion() {
+        ClientSearchIndex current = index;
+        int size = current.size();
+        return size == 0 ? 0 : current.memoryBytes() * 1_000_000.0 / size;
+    }
+
+    private synchronized void load() {
+        if (ready) {
+            return;
+        }
+        long startTime = System.nanoTime();
+        try {
+            readSnapshot();
+            int fromSnapshot = index.size();
+            catchUp();
+            ready = true;
+            logger.info("Client search index loaded in {} ms: {} clients ({} from snapshot), {} MB, {} MB per million clients",
+                    (System.nanoTime() - startTime) / 1_000_000, index.size(), fromSnapshot,
+                    index.memoryBytes() >> 20, Math.round(bytesPerMillion() / (1 << 20)));
+        } catch (RuntimeException e) {
+            logger.error("Could not load the client search index, searches will use the database", e);
+            return;
+        }
+        writeSnapshot();
+    }
+
+    private synchronized int catchUp() {
+        ClientChangeHorizon horizon = clientRepository.findChangeHorizonWithVersion();
+        ClientSearchIndex current = index;
+        int added = 0;
+        List<ClientChangeRow> rows;
+        do {
+            rows = watermark == null
+                    ? clientRepository.findChanges(horizon.xid(), Limit.of(batchSize))
+                    : clientRepository.findChangesAfter(watermark.changeXid(), watermark.id(), horizon.xid(), Limit.of(batchSize));
+            for (ClientChangeRow row : rows) {
+                if (current.add(row.toDTO())) {
+                    added++;
+                }
+            }
+            if (!rows.isEmpty()) {
+                watermark = rows.get(rows.size() - 1).cursor();
+            }
+        } while (rows.size() == batchSize);
+        if (horizon.version() != null) {
+            version = horizon.version();
+        }
+        return added;
+    }
+
+    /**
+     * Sustituye el índice por el de la instantánea. Si no hay instantánea o no puede leerse,
+     * el índice se carga completo desde la base de datos.
+     */
+    private synchronized void readSnapshot() {
+        if (snapshot == null) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot)))) {
+            ClientChangeCursor snapshotWatermark = in.readBoolean() ? ClientChangeCursor.decode(in.readUTF()) : null;
+            ClientSearchIndex snapshotIndex = ClientSearchIndex.readFrom(in);
+            index = snapshotIndex;
+            watermark = snapshotWatermark;
+        } catch (NoSuchFileException e) {
+            logger.info("No client search index snapshot at {}", snapshot);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not read the client search index snapshot {}: {}", snapshot, e.getMessage());
+        }
+    }
+
+    /**
+     * Escribe el índice y su marca de agua en un archivo temporal que después sustituye a la instantánea.
+     */
+    private synchronized void writeSnapshot() {
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            Path directory = snapshot.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, snapshot.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeBoolean(watermark != null);
+                if (watermark != null) {
+                    out.writeUTF(watermark.encode());
+                }
+                index.writeTo(out);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Client search index snapshot written to {}", snapshot);
+        } catch (IOException e) {
+            logger.warn("Could not write the client search index snapshot {}: {}", snapshot, e.getMessage());
+        }
+    }
+}
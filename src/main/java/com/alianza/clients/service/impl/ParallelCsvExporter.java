@@ -0,0 +1,271 @@
+package com.alianza.clients.service.impl;
+
+import com.alianza.clients.dto.ClientCreatedAtRange;
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.dto.ClientSearchCriteria;
+import com.alianza.clients.exception.ExportException;
+import com.alianza.clients.repository.IClientRepository;
+import com.alianza.clients.service.export.ClientCsvFormat;
+import com.alianza.clients.service.export.ExportPhases;
+import com.alianza.clients.service.export.ExportPhases.Phase;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Exportación CSV repartida en particiones por rangos de fecha de creación.
+ * Cada partición se lee con su propia conexión y se codifica en un archivo temporal; después los
+ * archivos se concatenan en orden en la salida. Todas las particiones leen la misma instantánea:
+ * la transacción del hilo que atiende la exportación la exporta, lee la primera partición y sigue
+ * abierta hasta que terminan las demás, que la importan al empezar. Una instantánea exportada solo
+ * puede importarse en el mismo servidor, por lo que estas transacciones se envían al primario
+ * aunque solo lean. Cada exportación ocupa hasta {@code partitions} conexiones, por lo que el pool
+ * de conexiones debe dimensionarse en consecuencia.
+ * <p>
+ * Solo se admiten a la vez las exportaciones cuyas particiones caben juntas en el ejecutor
+ * ({@code threads / (partitions - 1)}, al menos una): así ninguna transacción coordinadora espera,
+ * con su conexión ocupada, a particiones encoladas detrás de las de otra exportación. Sin hueco, la
+ * exportación se hace de forma secuencial. La espera de cada partición está limitada por
+ * {@code timeout}, contado desde el inicio de la exportación.
+ */
+@Component
+public class ParallelCsvExporter {
+    private static final Logger logger = LoggerFactory.getLogger(ParallelCsvExporter.class);
+    private static final CSVFormat PARTITION_FORMAT = CSVFormat.DEFAULT;
+
+    private final IClientRepository clientRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int partitions;
+    private final Duration timeout;
+    private final Semaphore parallelExports;
+    private final ExecutorService executor;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param clientRepository Repositorio de clientes
+     * @param transactionManager Gestor de las transacciones de lectura de la exportación y de cada partición
+     * @param partitions Número de particiones de cada exportación; 1 desactiva el modo paralelo
+     * @param threads Número de particiones que se leen a la vez entre todas las exportaciones
+     * @param timeout Tiempo máximo de una exportación en paralelo
+     * @param virtualThreads Indica si las particiones se leen en hilos virtuales
+     */
+    public ParallelCsvExporter(IClientRepository clientRepository, PlatformTransactionManager transactionManager,
+                               @Value("${clients.export.parallel.partitions:1}") int partitions,
+                               @Value("${clients.export.parallel.threads:4}") int threads,
+                               @Value("${clients.export.parallel.timeout:PT30M}") Duration timeout,
+                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.clientRepository = clientRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // REPEATABLE READ conserva la instantánea exportada durante toda la transacción
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.partitions = Math.max(partitions, 1);
+        this.timeout = timeout;
+        this.parallelExports = new Semaphore(Math.max(Math.max(threads, 1) / Math.max(this.partitions - 1, 1), 1));
+
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("export-partition-", 1).factory()
+                : Thread.ofPlatform().name("export-partition-", 1).daemon(true).factory();
+        this.executor = Executors.newFixedThreadPool(Math.max(threads, 1), threadFactory);
+    }
+
+    /**
+     * Indica si las exportaciones CSV deben repartirse en particiones.
+     */
+    public boolean isEnabled() {
+        return partitions > 1;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Exporta a CSV los clientes que cumplen los criterios leyendo las particiones en paralelo, si
+     * hay hueco para otra exportación en paralelo.
+     * No debe invocarse dentro de una transacción: abre la suya y una por partición.
+     * Los tiempos de lectura y codificación de las particiones se suman a {@code phases},
+     * por lo que pueden superar la duración total de la exportación.
+     *
+     * @return false, sin escribir nada, si ya hay tantas exportaciones en paralelo como caben en el ejecutor
+     */
+    boolean tryExport(ClientSearchCriteria criteria, OutputStream outputStream, LongConsumer progress,
+                      ExportPhases phases) throws IOException {
+        if (!parallelExports.tryAcquire()) {
+            logger.info("Parallel export slots are busy, exporting clients sequentially");
+            return false;
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    exportInSnapshot(criteria, outputStream, progress, phases, deadline);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return true;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            parallelExports.release();
+        }
+    }
+
+    private void exportInSnapshot(ClientSearchCriteria criteria, OutputStream outputStream, LongConsumer progress,
+                                  ExportPhases phases, long deadline) throws IOException {
+        // Primera sentencia de la transacción: fija la instantánea que leen los rangos y todas las particiones
+        String snapshotId = clientRepository.exportSnapshot();
+        List<LocalDateTime> bounds = partitionBounds(clientRepository.findCreatedAtRange(criteria), partitions);
+        logger.info("Exporting clients in {} partitions", bounds.size() + 1);
+
+        List<Path> files = new ArrayList<>(bounds.size() + 1);
+        List<Future<ExportPhases>> futures = new ArrayList<>(bounds.size());
+        try {
+            for (int i = 0; i <= bounds.size(); i++) {
+                files.add(Files.createTempFile("clients-export-", ".csv.part"));
+            }
+            for (int i = 1; i <= bounds.size(); i++) {
+                LocalDateTime from = bounds.get(i - 1);
+                LocalDateTime to = i == bounds.size() ? null : bounds.get(i);
+                Path file = files.get(i);
+                futures.add(executor.submit(() -> exportPartition(criteria, snapshotId, from, to, file)));
+            }
+            // La primera partición se lee en la transacción que exportó la instantánea
+            ExportPhases first = new ExportPhases();
+            writePartition(criteria, null, bounds.isEmpty() ? null : bounds.get(0), files.get(0), first);
+
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            CSVPrinter csvPrinter = new CSVPrinter(writer, ClientCsvFormat.FORMAT);
+            csvPrinter.flush();
+
+            long rowsWritten = 0;
+            for (int i = 0; i < files.size(); i++) {
+                ExportPhases partition = i == 0 ? first : await(futures.get(i - 1), deadline);
+                phases.skip();
+                Files.copy(files.get(i), outputStream);
+                phases.lap(Phase.WRITE);
+                phases.add(partition);
+                rowsWritten += partition.rows();
+                progress.accept(rowsWritten);
+            }
+            outputStream.flush();
+        } finally {
+            // Una partición que sigue en curso tras un fallo escribe sobre un archivo ya borrado
+            futures.forEach(future -> future.cancel(true));
+            files.forEach(ParallelCsvExporter::deleteFile);
+        }
+    }
+
+    /**
+     * Divide [min, max] en {@code partitions} intervalos de igual duración y devuelve los límites interiores.
+     * Sin fechas que repartir se devuelve una lista vacía, es decir, una única partición.
+     */
+    static List<LocalDateTime> partitionBounds(ClientCreatedAtRange range, int partitions) {
+        if (range == null || range.min() == null || !range.max().isAfter(range.min())) {
+            return List.of();
+        }
+        Duration step = Duration.between(range.min(), range.max()).dividedBy(partitions);
+        List<LocalDateTime> bounds = new ArrayList<>(partitions - 1);
+        for (int i = 1; i < partitions; i++) {
+            LocalDateTime bound = range.min().plus(step.multipliedBy(i));
+            if (bounds.isEmpty() || bound.isAfter(bounds.get(bounds.size() - 1))) {
+                bounds.add(bound);
+            }
+        }
+        return bounds;
+    }
+
+    private ExportPhases exportPartition(ClientSearchCriteria criteria, String snapshotId, LocalDateTime from,
+                                         LocalDateTime to, Path file) throws IOException {
+        ExportPhases phases = new ExportPhases();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                clientRepository.importSnapshot(snapshotId);
+                try {
+                    writePartition(criteria, from, to, file, phases);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return phases;
+    }
+
+    private void writePartition(ClientSearchCriteria criteria, LocalDateTime from, LocalDateTime to, Path file,
+                                ExportPhases phases) throws IOException {
+        try (Stream<ClientDTO> clients = clientRepository.streamAllAsDTO(criteria, from, to);
+             CSVPrinter csvPrinter = new CSVPrinter(Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), PARTITION_FORMAT)) {
+            for (ClientDTO client : (Iterable<ClientDTO>) clients::iterator) {
+                phases.lap(Phase.QUERY);
+                ClientCsvFormat.printRecord(csvPrinter, client);
+                phases.rowExported();
+                phases.lap(Phase.SERIALIZATION);
+            }
+        }
+    }
+
+    private static ExportPhases await(Future<ExportPhases> future, long deadline) throws IOException {
+        try {
+            return future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExportException("Exportación interrumpida", e);
+        } catch (TimeoutException e) {
+            throw new ExportException("La exportación en paralelo no terminó a tiempo", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ExportException("Error al exportar una partición", e.getCause());
+        }
+    }
+
+    private static void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete export partition file {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.alianza.clients.service.impl;
+
+/**
+ * Genera el sharedKey de un cliente a partir de su email.
+ */
+final class SharedKeyGenerator {
+
+    private SharedKeyGenerator() {
+    }
+
+    /**
+     * Genera el sharedKey a partir del email del cliente.
+     * Se genera tomando la parte del email antes del símbolo @.
+     *
+     * @param email Email del cliente
+     * @return sharedKey generada
+     * @throws IllegalArgumentException si el email es nulo o no tiene formato válido
+     */
+    static String generate(String email) {
+        if (email == null || !email.contains("@")) {
+            throw new IllegalArgumentException("El email no es válido para generar sharedKey.");
+        }
+        return email.split("@")[0].toLowerCase();
+    }
+}
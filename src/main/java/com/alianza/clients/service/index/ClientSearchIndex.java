@@ -0,0 +1,306 @@
+package com.alianza.clients.service.index;
+
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.dto.ClientSearchCriteria;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de búsqueda de clientes residente en memoria.
+ * <p>
+ * Los clientes se guardan por columnas ({@link StringColumn}), sin objetos por cliente, y los campos
+ * de búsqueda tienen además un índice de trigramas ({@link TrigramIndex}). Una búsqueda de subcadena
+ * de al menos tres caracteres solo comprueba las filas candidatas del filtro más selectivo; con
+ * textos más cortos se recorren todas las filas. Las coincidencias son las mismas que las de
+ * {@code lower(campo) like '%texto%'} en la base de datos (el teléfono distingue mayúsculas) y el
+ * rango de fechas incluye el día final completo.
+ * <p>
+ * Solo se añaden clientes: un cliente cuyo id ya está en el índice se ignora. Admite lecturas
+ * concurrentes con un único escritor a la vez.
+ */
+public class ClientSearchIndex {
+
+    private static final int EMPTY = -1;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final StringColumn ids = new StringColumn();
+    private final StringColumn sharedKeys = new StringColumn();
+    private final StringColumn names = new StringColumn();
+    private final StringColumn emails = new StringColumn();
+    private final StringColumn phones = new StringColumn();
+    private int[] createdDays = new int[64];
+    private int size;
+
+    private final TrigramIndex sharedKeyTrigrams = new TrigramIndex(true);
+    private final TrigramIndex nameTrigrams = new TrigramIndex(true);
+    private final TrigramIndex emailTrigrams = new TrigramIndex(true);
+    private final TrigramIndex phoneTrigrams = new TrigramIndex(false);
+
+    /** Tabla hash de direccionamiento abierto de id a fila */
+    private int[] idSlots = filled(1024);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Añade un cliente al índice.
+     *
+     * @param client Cliente a añadir
+     * @return false si ya había un cliente con el mismo id
+     */
+    public boolean add(ClientDTO client) {
+        lock.writeLock().lock();
+        try {
+            int slot = findIdSlot(client.getId());
+            if (idSlots[slot] != EMPTY) {
+                return false;
+            }
+
+            int row = ids.add(client.getId());
+            sharedKeys.add(client.getSharedKey());
+            names.add(client.getName());
+            emails.add(client.getEmail());
+            phones.add(client.getPhone());
+            if (row == createdDays.length) {
+                createdDays = Arrays.copyOf(createdDays, StringColumn.grow(createdDays.length, row + 1));
+            }
+            createdDays[row] = client.getCreatedAt() != null ? (int) client.getCreatedAt().toEpochDay() : NO_DATE;
+
+            sharedKeyTrigrams.add(row, sharedKeys);
+            nameTrigrams.add(row, names);
+            emailTrigrams.add(row, emails);
+            phoneTrigrams.add(row, phones);
+
+            idSlots[slot] = row;
+            size = row + 1;
+            if (size * 2 > idSlots.length) {
+                rehashIds();
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los clientes cuya sharedKey contiene el texto indicado, sin distinguir mayúsculas.
+     *
+     * @param sharedKey Texto a buscar
+     * @return Clientes que coinciden, en el orden en que se añadieron
+     */
+    public List<ClientDTO> searchBySharedKey(String sharedKey) {
+        return find(List.of(new TextFilter(sharedKeys, sharedKeyTrigrams, StringColumn.toLowerCase(sharedKey), true)),
+                null, null);
+    }
+
+    /**
+     * Busca los clientes que cumplen los filtros de texto y de fecha de los criterios.
+     * Los textos vacíos no filtran, como en la búsqueda sobre la base de datos.
+     *
+     * @param criteria Criterios de búsqueda
+     * @return Clientes que coinciden, en el orden en que se añadieron
+     */
+    public List<ClientDTO> search(ClientSearchCriteria criteria) {
+        List<TextFilter> filters = new ArrayList<>(3);
+        if (hasText(criteria.getName())) {
+            filters.add(new TextFilter(names, nameTrigrams, StringColumn.toLowerCase(criteria.getName()), true));
+        }
+        if (hasText(criteria.getEmail())) {
+            filters.add(new TextFilter(emails, emailTrigrams, StringColumn.toLowerCase(criteria.getEmail()), true));
+        }
+        if (hasText(criteria.getPhone())) {
+            filters.add(new TextFilter(phones, phoneTrigrams, criteria.getPhone().toCharArray(), false));
+        }
+        return find(filters, criteria.getStartDate(), criteria.getEndDate());
+    }
+
+    /**
+     * Número de clientes del índice.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Memoria reservada por el índice en bytes: columnas, listas de trigramas y tabla de ids,
+     * incluida la capacidad todavía sin usar de los arrays.
+     */
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            return ids.memoryBytes() + sharedKeys.memoryBytes() + names.memoryBytes() + emails.memoryBytes()
+                    + phones.memoryBytes() + 4L * createdDays.length + 4L * idSlots.length
+                    + sharedKeyTrigrams.memoryBytes() + nameTrigrams.memoryBytes()
+                    + emailTrigrams.memoryBytes() + phoneTrigrams.memoryBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Escribe los clientes del índice en una instantánea que puede cargarse con {@link #readFrom(DataInputStream)}.
+     * Las listas de trigramas no se guardan: se reconstruyen al cargarla.
+     *
+     * @param out Flujo de salida de la instantánea
+     * @throws IOException si ocurre un error al escribir
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(size);
+            for (int row = 0; row < size; row++) {
+                writeString(out, ids.get(row));
+                writeString(out, sharedKeys.get(row));
+                writeString(out, names.get(row));
+                writeString(out, emails.get(row));
+                writeString(out, phones.get(row));
+                out.writeInt(createdDays[row]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Carga un índice desde una instantánea escrita con {@link #writeTo(DataOutputStream)}.
+     *
+     * @param in Flujo de entrada de la instantánea
+     * @return Índice con los clientes de la instantánea
+     * @throws IOException si ocurre un error al leer o la instantánea no es de una versión compatible
+     */
+    public static ClientSearchIndex readFrom(DataInputStream in) throws IOException {
+        int version = in.readInt();
+        if (version != SNAPSHOT_VERSION) {
+            throw new IOException("Versión de instantánea no soportada: " + version);
+        }
+        ClientSearchIndex index = new ClientSearchIndex();
+        int size = in.readInt();
+        for (int row = 0; row < size; row++) {
+            ClientDTO client = ClientDTO.builder()
+                    .id(readString(in))
+                    .sharedKey(readString(in))
+                    .name(readString(in))
+                    .email(readString(in))
+                    .phone(readString(in))
+                    .build();
+            int createdDay = in.readInt();
+            client.setCreatedAt(createdDay != NO_DATE ? LocalDate.ofEpochDay(createdDay) : null);
+            index.add(client);
+        }
+        return index;
+    }
+
+    private List<ClientDTO> find(List<TextFilter> filters, LocalDate startDate, LocalDate endDate) {
+        boolean dated = startDate != null || endDate != null;
+        int fromDay = startDate != null ? (int) startDate.toEpochDay() : Integer.MIN_VALUE + 1;
+        int toDay = endDate != null ? (int) endDate.toEpochDay() : Integer.MAX_VALUE;
+
+        lock.readLock().lock();
+        try {
+            // Se recorren las candidatas del filtro más selectivo; sin trigramas, todas las filas
+            int[] candidates = null;
+            for (TextFilter filter : filters) {
+                int[] rows = filter.trigrams().candidates(filter.needle());
+                if (rows != null && (candidates == null || rows.length < candidates.length)) {
+                    candidates = rows;
+                }
+            }
+
+            List<ClientDTO> clients = new ArrayList<>();
+            int count = candidates != null ? candidates.length : size;
+            for (int i = 0; i < count; i++) {
+                int row = candidates != null ? candidates[i] : i;
+                int createdDay = createdDays[row];
+                if (dated && (createdDay == NO_DATE || createdDay < fromDay || createdDay > toDay)) {
+                    continue;
+                }
+                if (matches(row, filters)) {
+                    clients.add(toDTO(row));
+                }
+            }
+            return clients;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean matches(int row, List<TextFilter> filters) {
+        for (TextFilter filter : filters) {
+            if (!filter.column().contains(row, filter.needle(), filter.ignoreCase())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ClientDTO toDTO(int row) {
+        int createdDay = createdDays[row];
+        return new ClientDTO(ids.get(row), sharedKeys.get(row), names.get(row), emails.get(row), phones.get(row),
+                createdDay != NO_DATE ? LocalDate.ofEpochDay(createdDay) : null);
+    }
+
+    /**
+     * Posición de la tabla de ids que ocupa el id indicado o, si no está, la posición libre donde insertarlo.
+     */
+    private int findIdSlot(String id) {
+        int slot = idSlot(id.hashCode(), idSlots.length);
+        while (idSlots[slot] != EMPTY && !ids.valueEquals(idSlots[slot], id)) {
+            slot = (slot + 1) & (idSlots.length - 1);
+        }
+        return slot;
+    }
+
+    private void rehashIds() {
+        int[] slots = filled(idSlots.length * 2);
+        for (int row = 0; row < size; row++) {
+            int slot = idSlot(ids.get(row).hashCode(), slots.length);
+            while (slots[slot] != EMPTY) {
+                slot = (slot + 1) & (slots.length - 1);
+            }
+            slots[slot] = row;
+        }
+        idSlots = slots;
+    }
+
+    private static int idSlot(int hash, int capacity) {
+        int mixed = hash * 0x9E3779B9;
+        return (mixed ^ (mixed >>> 16)) & (capacity - 1);
+    }
+
+    private static int[] filled(int length) {
+        int[] array = new int[length];
+        Arrays.fill(array, EMPTY);
+        return array;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private record TextFilter(StringColumn column, TrigramIndex trigrams, char[] needle, boolean ignoreCase) {
+    }
+}
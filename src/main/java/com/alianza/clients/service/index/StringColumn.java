@@ -0,0 +1,130 @@
+package com.alianza.clients.service.index;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Columna de textos en la que solo se añaden valores. Todos los caracteres se guardan seguidos
+ * en un único char[] y cada valor se localiza por su posición final, sin un objeto String por fila.
+ */
+final class StringColumn {
+
+    private char[] chars = new char[1024];
+    private int charCount;
+    private int[] ends = new int[64];
+    private final BitSet nulls = new BitSet();
+    private int size;
+
+    /**
+     * Añade un valor al final de la columna.
+     *
+     * @param value Valor a añadir, puede ser null
+     * @return Posición del valor en la columna
+     */
+    int add(String value) {
+        if (size == ends.length) {
+            ends = Arrays.copyOf(ends, grow(ends.length, size + 1));
+        }
+        if (value == null) {
+            nulls.set(size);
+        } else {
+            int length = value.length();
+            if (charCount + length > chars.length) {
+                chars = Arrays.copyOf(chars, grow(chars.length, charCount + length));
+            }
+            value.getChars(0, length, chars, charCount);
+            charCount += length;
+        }
+        ends[size] = charCount;
+        return size++;
+    }
+
+    String get(int row) {
+        if (nulls.get(row)) {
+            return null;
+        }
+        int start = start(row);
+        return new String(chars, start, ends[row] - start);
+    }
+
+    boolean isNull(int row) {
+        return nulls.get(row);
+    }
+
+    int start(int row) {
+        return row == 0 ? 0 : ends[row - 1];
+    }
+
+    int end(int row) {
+        return ends[row];
+    }
+
+    char charAt(int offset) {
+        return chars[offset];
+    }
+
+    /**
+     * Indica si el valor de la fila contiene el texto buscado. Con ignoreCase el texto buscado
+     * debe estar ya en minúsculas ({@link #toLowerCase(String)}). Un valor null nunca coincide,
+     * como en SQL.
+     */
+    boolean contains(int row, char[] needle, boolean ignoreCase) {
+        if (nulls.get(row)) {
+            return false;
+        }
+        int last = ends[row] - needle.length;
+        for (int from = start(row); from <= last; from++) {
+            int i = 0;
+            while (i < needle.length && fold(chars[from + i], ignoreCase) == needle[i]) {
+                i++;
+            }
+            if (i == needle.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean valueEquals(int row, String value) {
+        int start = start(row);
+        if (nulls.get(row) || ends[row] - start != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (chars[start + i] != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long memoryBytes() {
+        return 2L * chars.length + 4L * ends.length + nulls.size() / 8;
+    }
+
+    /**
+     * Pasa a minúsculas carácter a carácter, igual que se comparan los valores de la columna.
+     */
+    static char[] toLowerCase(String value) {
+        char[] lower = value.toCharArray();
+        for (int i = 0; i < lower.length; i++) {
+            lower[i] = Character.toLowerCase(lower[i]);
+        }
+        return lower;
+    }
+
+    static char fold(char c, boolean ignoreCase) {
+        return ignoreCase ? Character.toLowerCase(c) : c;
+    }
+
+    /**
+     * Nueva capacidad de un array: crece un 50% y como mínimo hasta la capacidad requerida.
+     */
+    static int grow(int capacity, int required) {
+        if (required < 0 || required > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Capacidad máxima del índice de búsqueda superada");
+        }
+        long grown = Math.max(required, capacity + (capacity >> 1) + 16L);
+        return (int) Math.min(grown, Integer.MAX_VALUE - 8);
+    }
+}
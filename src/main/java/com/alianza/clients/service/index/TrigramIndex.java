@@ -0,0 +1,242 @@
+package com.alianza.clients.service.index;
+
+import java.util.Arrays;
+
+/**
+ * Listas invertidas de trigramas de una {@link StringColumn}: para cada secuencia de tres
+ * caracteres, las filas cuyo valor la contiene.
+ * <p>
+ * Los trigramas se guardan como long en una tabla hash de direccionamiento abierto y cada lista
+ * es un byte[] con las diferencias entre filas consecutivas codificadas como varint, que para
+ * los trigramas frecuentes ocupan un byte por fila. Las filas se añaden en orden creciente, por lo
+ * que las listas quedan ordenadas sin reordenarlas.
+ */
+final class TrigramIndex {
+
+    private static final int EMPTY = -1;
+    private static final int INITIAL_LIST_BYTES = 8;
+    private static final int MAX_INTERSECT_RATIO = 16;
+
+    private final boolean ignoreCase;
+
+    private long[] keys = new long[1024];
+    private int[] slots = filled(1024);
+    private int listCount;
+
+    private byte[][] lists = new byte[256][];
+    private int[] listBytes = new int[256];
+    private int[] listRows = new int[256];
+    private int[] lastRows = new int[256];
+    private long allocatedListBytes;
+
+    /**
+     * @param ignoreCase Indica si los trigramas se extraen de los valores pasados a minúsculas
+     */
+    TrigramIndex(boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * Añade los trigramas del valor de una fila. Las filas deben añadirse en orden creciente.
+     */
+    void add(int row, StringColumn column) {
+        if (column.isNull(row)) {
+            return;
+        }
+        for (int i = column.start(row), last = column.end(row) - 3; i <= last; i++) {
+            int list = findOrCreate(key(fold(column.charAt(i)), fold(column.charAt(i + 1)), fold(column.charAt(i + 2))));
+            if (lastRows[list] != row) {
+                append(list, row - lastRows[list]);
+                lastRows[list] = row;
+                listRows[list]++;
+            }
+        }
+    }
+
+    /**
+     * Filas candidatas a contener el texto buscado. Las listas de sus trigramas se cruzan de la más
+     * corta a la más larga mientras la siguiente no sea mucho más larga que las candidatas que quedan:
+     * a partir de ahí comprobar cada candidata sobre la columna cuesta menos que recorrer la lista.
+     *
+     * @param needle Texto buscado, ya en minúsculas si el índice no distingue mayúsculas
+     * @return Filas candidatas en orden creciente, o null si el texto tiene menos de tres caracteres
+     */
+    int[] candidates(char[] needle) {
+        if (needle.length < 3) {
+            return null;
+        }
+        int[] needleLists = new int[needle.length - 2];
+        int count = 0;
+        for (int i = 0; i < needleLists.length; i++) {
+            int list = find(key(needle[i], needle[i + 1], needle[i + 2]));
+            if (list == EMPTY) {
+                return new int[0];
+            }
+            needleLists[count++] = list;
+        }
+
+        long[] bySize = new long[count];
+        for (int i = 0; i < count; i++) {
+            bySize[i] = ((long) listRows[needleLists[i]] << 32) | needleLists[i];
+        }
+        Arrays.sort(bySize);
+
+        int[] rows = decode((int) bySize[0]);
+        for (int i = 1; i < count; i++) {
+            int list = (int) bySize[i];
+            if (listRows[list] > (long) rows.length * MAX_INTERSECT_RATIO) {
+                break;
+            }
+            if (list != (int) bySize[i - 1]) {
+                rows = intersect(rows, list);
+            }
+        }
+        return rows;
+    }
+
+    long memoryBytes() {
+        return 8L * keys.length + 4L * slots.length + 8L * lists.length
+                + 4L * (listBytes.length + listRows.length + lastRows.length)
+                + allocatedListBytes + 16L * listCount;
+    }
+
+    private char fold(char c) {
+        return StringColumn.fold(c, ignoreCase);
+    }
+
+    private static long key(char first, char second, char third) {
+        return ((long) first << 32) | ((long) second << 16) | third;
+    }
+
+    private int slot(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & (slots.length - 1);
+    }
+
+    private int find(long key) {
+        for (int slot = slot(key); slots[slot] != EMPTY; slot = (slot + 1) & (slots.length - 1)) {
+            if (keys[slot] == key) {
+                return slots[slot];
+            }
+        }
+        return EMPTY;
+    }
+
+    private int findOrCreate(long key) {
+        int slot = slot(key);
+        for (; slots[slot] != EMPTY; slot = (slot + 1) & (slots.length - 1)) {
+            if (keys[slot] == key) {
+                return slots[slot];
+            }
+        }
+
+        int list = listCount++;
+        if (list == lists.length) {
+            int capacity = StringColumn.grow(lists.length, list + 1);
+            lists = Arrays.copyOf(lists, capacity);
+            listBytes = Arrays.copyOf(listBytes, capacity);
+            listRows = Arrays.copyOf(listRows, capacity);
+            lastRows = Arrays.copyOf(lastRows, capacity);
+        }
+        lists[list] = new byte[INITIAL_LIST_BYTES];
+        allocatedListBytes += INITIAL_LIST_BYTES;
+        lastRows[list] = -1;
+        keys[slot] = key;
+        slots[slot] = list;
+        // Factor de carga máximo 0,5
+        if (listCount * 2 > slots.length) {
+            rehash();
+        }
+        return list;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldSlots = slots;
+        keys = new long[oldKeys.length * 2];
+        slots = filled(oldSlots.length * 2);
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (oldSlots[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                while (slots[slot] != EMPTY) {
+                    slot = (slot + 1) & (slots.length - 1);
+                }
+                keys[slot] = oldKeys[i];
+                slots[slot] = oldSlots[i];
+            }
+        }
+    }
+
+    private void append(int list, int delta) {
+        byte[] bytes = lists[list];
+        int size = listBytes[list];
+        if (bytes.length - size < 5) {
+            int capacity = StringColumn.grow(bytes.length, size + 5);
+            allocatedListBytes += capacity - bytes.length;
+            bytes = Arrays.copyOf(bytes, capacity);
+            lists[list] = bytes;
+        }
+        while ((delta & ~0x7F) != 0) {
+            bytes[size++] = (byte) ((delta & 0x7F) | 0x80);
+            delta >>>= 7;
+        }
+        bytes[size++] = (byte) delta;
+        listBytes[list] = size;
+    }
+
+    private int[] decode(int list) {
+        byte[] bytes = lists[list];
+        int[] rows = new int[listRows[list]];
+        int row = -1;
+        int position = 0;
+        for (int i = 0; i < rows.length; i++) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            row += delta;
+            rows[i] = row;
+        }
+        return rows;
+    }
+
+    /**
+     * Deja en rows solo las filas que también están en la lista indicada, recorriéndola una vez.
+     */
+    private int[] intersect(int[] rows, int list) {
+        byte[] bytes = lists[list];
+        int end = listBytes[list];
+        int kept = 0;
+        int next = 0;
+        int row = -1;
+        int position = 0;
+        while (position < end && next < rows.length) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            row += delta;
+            while (next < rows.length && rows[next] < row) {
+                next++;
+            }
+            if (next < rows.length && rows[next] == row) {
+                rows[kept++] = row;
+                next++;
+            }
+        }
+        return Arrays.copyOf(rows, kept);
+    }
+
+    private static int[] filled(int length) {
+        int[] array = new int[length];
+        Arrays.fill(array, EMPTY);
+        return array;
+    }
+}
@@ -0,0 +1,13 @@
+CREATE TABLE IF NOT EXISTS client (
+    id          VARCHAR(255) NOT NULL,
+    shared_key  VARCHAR(255) NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    email       VARCHAR(255) NOT NULL,
+    phone       VARCHAR(50),
+    created_at  TIMESTAMP(6),
+    CONSTRAINT pk_client PRIMARY KEY (id),
+    CONSTRAINT uk_client_shared_key UNIQUE (shared_key),
+    CONSTRAINT uk_client_email UNIQUE (email)
+);
+
+CREATE INDEX IF NOT EXISTS idx_client_created_at_id ON client (created_at, id);
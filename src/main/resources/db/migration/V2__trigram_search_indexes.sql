@@ -0,0 +1,9 @@
+-- Índices de trigramas para las búsquedas por subcadena (LIKE '%valor%').
+-- Las columnas que se comparan sin distinguir mayúsculas se indexan sobre lower(col)
+-- para que coincidan con la expresión que generan las consultas del repositorio.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_client_shared_key_trgm ON client USING gin (lower(shared_key) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_client_email_trgm ON client USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_client_name_trgm ON client USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_client_phone_trgm ON client USING gin (phone gin_trgm_ops);
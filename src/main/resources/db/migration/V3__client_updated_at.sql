@@ -0,0 +1,6 @@
+ALTER TABLE client ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6);
+
+UPDATE client SET updated_at = created_at WHERE updated_at IS NULL;
+
+-- Feed de cambios: recorrido por (updated_at, id) a partir de una marca de agua
+CREATE INDEX IF NOT EXISTS idx_client_updated_at_id ON client (updated_at, id);
@@ -0,0 +1,125 @@
+-- Tabla client particionada por mes de created_at (PostgreSQL 13 o posterior). Las búsquedas y
+-- exportaciones acotadas por fecha solo recorren las particiones del rango.
+--
+-- En una tabla particionada las claves únicas deben incluir la clave de partición, así que la
+-- unicidad global de id, shared_key y email pasa a client_key, con los nombres de restricción
+-- anteriores, y la mantiene el disparador de client.
+
+UPDATE client SET created_at = coalesce(updated_at, now()) WHERE created_at IS NULL;
+UPDATE client SET updated_at = created_at WHERE updated_at IS NULL;
+
+ALTER TABLE client RENAME TO client_unpartitioned;
+
+CREATE TABLE client (
+    id          VARCHAR(255) NOT NULL,
+    shared_key  VARCHAR(255) NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    email       VARCHAR(255) NOT NULL,
+    phone       VARCHAR(50),
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT pk_client_created_at PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Recoge las filas de los meses sin partición hasta que client_create_partitions la crea
+CREATE TABLE client_default PARTITION OF client DEFAULT;
+
+-- Crea las particiones mensuales que faltan entre dos meses, ambos incluidos. Las filas del mes que
+-- estuvieran en client_default se mueven a la nueva partición antes de adjuntarla.
+-- Los índices del padre (incluido el BRIN de created_at) se crean en cada partición al adjuntarla.
+CREATE OR REPLACE FUNCTION client_create_partitions(from_month DATE, to_month DATE) RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_month);
+    month_end   DATE;
+    partition   TEXT;
+    created     INTEGER := 0;
+BEGIN
+    -- Varios nodos pueden ejecutar el mantenimiento a la vez
+    PERFORM pg_advisory_xact_lock(hashtext('client_create_partitions'));
+    WHILE month_start <= to_month LOOP
+        month_end := month_start + INTERVAL '1 month';
+        partition := 'client_' || to_char(month_start, 'YYYY_MM');
+        IF to_regclass(partition) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I (LIKE client INCLUDING DEFAULTS)', partition);
+            PERFORM set_config('clients.moving_partition_rows', 'on', true);
+            EXECUTE format('WITH moved AS (DELETE FROM client_default WHERE created_at >= %L AND created_at < %L RETURNING *) '
+                           'INSERT INTO %I SELECT * FROM moved', month_start, month_end, partition);
+            PERFORM set_config('clients.moving_partition_rows', 'off', true);
+            EXECUTE format('ALTER TABLE client ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                           partition, month_start, month_end);
+            created := created + 1;
+        END IF;
+        month_start := month_end;
+    END LOOP;
+    RETURN created;
+END $$;
+
+SELECT client_create_partitions(
+    coalesce((SELECT min(created_at) FROM client_unpartitioned), now())::DATE,
+    (now() + INTERVAL '3 months')::DATE);
+
+INSERT INTO client (id, shared_key, name, email, phone, created_at, updated_at)
+SELECT id, shared_key, name, email, phone, created_at, updated_at FROM client_unpartitioned;
+
+DROP TABLE client_unpartitioned;
+
+CREATE TABLE client_key (
+    id          VARCHAR(255) NOT NULL,
+    shared_key  VARCHAR(255) NOT NULL,
+    email       VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_client PRIMARY KEY (id),
+    CONSTRAINT uk_client_shared_key UNIQUE (shared_key),
+    CONSTRAINT uk_client_email UNIQUE (email)
+);
+
+INSERT INTO client_key (id, shared_key, email) SELECT id, shared_key, email FROM client;
+
+-- Registra las claves de cada cliente insertado. Un duplicado produce la violación de la restricción
+-- de client_key; con clients.skip_duplicate_keys activo (importación masiva) la fila se omite, como
+-- haría ON CONFLICT DO NOTHING en una tabla sin particionar.
+CREATE OR REPLACE FUNCTION client_key_insert() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF current_setting('clients.skip_duplicate_keys', true) = 'on' THEN
+        INSERT INTO client_key (id, shared_key, email) VALUES (NEW.id, NEW.shared_key, NEW.email)
+        ON CONFLICT DO NOTHING;
+        IF NOT FOUND THEN
+            RETURN NULL;
+        END IF;
+    ELSE
+        INSERT INTO client_key (id, shared_key, email) VALUES (NEW.id, NEW.shared_key, NEW.email);
+    END IF;
+    RETURN NEW;
+END $$;
+
+-- Mantiene client_key en las modificaciones y borrados, salvo al mover filas entre particiones
+CREATE OR REPLACE FUNCTION client_key_sync() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF current_setting('clients.moving_partition_rows', true) = 'on' THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP = 'UPDATE' THEN
+        UPDATE client_key SET id = NEW.id, shared_key = NEW.shared_key, email = NEW.email WHERE id = OLD.id;
+    ELSE
+        DELETE FROM client_key WHERE id = OLD.id;
+    END IF;
+    RETURN NULL;
+END $$;
+
+CREATE TRIGGER trg_client_key_insert BEFORE INSERT ON client
+    FOR EACH ROW EXECUTE FUNCTION client_key_insert();
+CREATE TRIGGER trg_client_key_sync AFTER UPDATE OF id, shared_key, email OR DELETE ON client
+    FOR EACH ROW EXECUTE FUNCTION client_key_sync();
+
+-- Índices de V1-V3, ahora particionados. El BRIN de created_at ocupa unas pocas páginas por
+-- partición y sirve los rangos de fechas dentro de ella; (created_at, id) sigue atendiendo
+-- la paginación por cursor
+CREATE INDEX idx_client_created_at_id ON client (created_at, id);
+CREATE INDEX idx_client_created_at_brin ON client USING brin (created_at);
+CREATE INDEX idx_client_updated_at_id ON client (updated_at, id);
+CREATE INDEX idx_client_shared_key_trgm ON client USING gin (lower(shared_key) gin_trgm_ops);
+CREATE INDEX idx_client_email_trgm ON client USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX idx_client_name_trgm ON client USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX idx_client_phone_trgm ON client USING gin (phone gin_trgm_ops);
@@ -0,0 +1,24 @@
+-- Versión de la tabla client para los validadores de los listados (ETag y Last-Modified): una fila
+-- que el disparador de sentencia actualiza en cada alta, modificación o borrado, en la misma
+-- transacción. Leerla cuesta lo mismo con cualquier número de filas o particiones; a cambio, las
+-- transacciones que escriben en client se serializan sobre esta fila hasta confirmar.
+CREATE TABLE client_version (
+    id             SMALLINT NOT NULL DEFAULT 1,
+    version        BIGINT NOT NULL,
+    last_modified  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_client_version PRIMARY KEY (id),
+    CONSTRAINT ck_client_version_single_row CHECK (id = 1)
+);
+
+INSERT INTO client_version (id, version, last_modified)
+SELECT 1, count(*), coalesce(max(updated_at), localtimestamp) FROM client;
+
+CREATE OR REPLACE FUNCTION client_version_bump() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE client_version SET version = version + 1, last_modified = clock_timestamp()::TIMESTAMP WHERE id = 1;
+    RETURN NULL;
+END $$;
+
+CREATE TRIGGER trg_client_version AFTER INSERT OR UPDATE OR DELETE ON client
+    FOR EACH STATEMENT EXECUTE FUNCTION client_version_bump();
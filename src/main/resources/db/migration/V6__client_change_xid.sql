@@ -0,0 +1,23 @@
+-- Feed de cambios en orden de confirmación. updated_at lo asignaba la aplicación al empezar la
+-- escritura, así que una transacción que confirmaba tarde podía dejar filas por detrás de la marca
+-- de agua de un consumidor. Ahora cada fila guarda el identificador de la transacción que la escribió
+-- (change_xid) y el feed solo entrega las filas con change_xid menor que el xmin de la instantánea
+-- actual: todas esas transacciones han terminado y cualquier escritura posterior tendrá un
+-- identificador mayor. Las filas existentes quedan con change_xid 0, antes de cualquier cambio nuevo.
+
+ALTER TABLE client ADD COLUMN change_xid BIGINT NOT NULL DEFAULT 0;
+
+-- La base de datos asigna change_xid y updated_at (reloj real, no el inicio de la transacción)
+CREATE OR REPLACE FUNCTION client_change_stamp() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.change_xid := pg_current_xact_id()::TEXT::BIGINT;
+    NEW.updated_at := clock_timestamp()::TIMESTAMP;
+    RETURN NEW;
+END $$;
+
+CREATE TRIGGER trg_client_change_stamp BEFORE INSERT OR UPDATE ON client
+    FOR EACH ROW EXECUTE FUNCTION client_change_stamp();
+
+DROP INDEX IF EXISTS idx_client_updated_at_id;
+CREATE INDEX idx_client_change_xid_id ON client (change_xid, id);
@@ -0,0 +1,24 @@
+-- Contador de versión repartido en ranuras. Con una sola fila, todas las transacciones que escribían en
+-- client se serializaban sobre ella hasta confirmar: un lote de la importación masiva bloqueaba cada
+-- alta concurrente y al revés. Ahora cada sesión incrementa la ranura que le corresponde por su pid,
+-- siempre la misma dentro de una transacción, y dos escritoras solo esperan la una a la otra si
+-- coinciden en ranura. La versión es la suma de las ranuras y la fecha, la mayor; la suma solo crece,
+-- así que sigue cambiando con cada escritura confirmada. 64 ranuras cubren varios nodos con pools de
+-- 20 conexiones, y leerlas sigue costando lo mismo con cualquier número de filas o particiones.
+ALTER TABLE client_version DROP CONSTRAINT ck_client_version_single_row;
+ALTER TABLE client_version RENAME COLUMN id TO slot;
+ALTER TABLE client_version ALTER COLUMN slot DROP DEFAULT;
+ALTER TABLE client_version ADD CONSTRAINT ck_client_version_slot CHECK (slot BETWEEN 0 AND 63);
+
+INSERT INTO client_version (slot, version, last_modified)
+SELECT s, 0, v.last_modified
+FROM generate_series(0, 63) s, client_version v
+WHERE v.slot = 1 AND s <> 1;
+
+CREATE OR REPLACE FUNCTION client_version_bump() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE client_version SET version = version + 1, last_modified = clock_timestamp()::TIMESTAMP
+    WHERE slot = pg_backend_pid() % 64;
+    RETURN NULL;
+END $$;
@@ -0,0 +1,105 @@
+package com.alianza.clients.config;
+
+import com.alianza.clients.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlInterceptorTest {
+
+    private SimpleMeterRegistry registry;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void preHandle_WhenBurstIsExhausted_ShouldRejectWithTimeToNextToken() throws Exception {
+        // Arrange
+        AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(
+                new AdmissionControl("export", 0.5, 1, 0, Duration.ZERO, Duration.ZERO, registry));
+        interceptor.preHandle(new MockHttpServletRequest(), response, null);
+
+        // Act
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest(), response, null));
+
+        // Assert
+        assertTrue(ex.getRetryAfter().compareTo(Duration.ofSeconds(1)) > 0);
+        assertEquals(1, count("admitted"));
+        assertEquals(1, count("rate_limited"));
+    }
+
+    @Test
+    void preHandle_WhenAllSlotsAreBusy_ShouldRejectUntilOneIsReleased() throws Exception {
+        // Arrange
+        AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(
+                new AdmissionControl("export", 0, 1, 1, Duration.ofMillis(10), Duration.ofSeconds(10), registry));
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        interceptor.preHandle(first, response, null);
+
+        // Act
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest(), response, null));
+        interceptor.afterCompletion(first, response, null, null);
+
+        // Assert
+        assertEquals(Duration.ofSeconds(10), ex.getRetryAfter());
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), response, null));
+        assertEquals(1, count("concurrency_limited"));
+        assertEquals(1, registry.get("clients.admission.active").gauge().value());
+    }
+
+    @Test
+    void preHandle_WhenRejectedForConcurrency_ShouldReturnTheToken() throws Exception {
+        // Arrange: dos fichas que apenas se rellenan y un único hueco
+        AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(
+                new AdmissionControl("export", 0.001, 2, 1, Duration.ZERO, Duration.ofSeconds(10), registry));
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        interceptor.preHandle(first, response, null);
+        assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest(), response, null));
+
+        // Act
+        interceptor.afterCompletion(first, response, null, null);
+
+        // Assert: la segunda ficha sigue disponible
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), response, null));
+        assertEquals(2, count("admitted"));
+        assertEquals(1, count("concurrency_limited"));
+        assertEquals(0, count("rate_limited"));
+    }
+
+    @Test
+    void afterCompletion_WhenResponseIsAsync_ShouldReleaseOnlyWhenAsyncCompletes() throws Exception {
+        // Arrange
+        AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(
+                new AdmissionControl("export", 0, 1, 1, Duration.ZERO, Duration.ofSeconds(10), registry));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        interceptor.preHandle(request, response, null);
+        request.startAsync();
+
+        // Act
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        // Assert
+        assertEquals(1, registry.get("clients.admission.active").gauge().value());
+        request.getAsyncContext().complete();
+        assertEquals(0, registry.get("clients.admission.active").gauge().value());
+    }
+
+    private double count(String result) {
+        return registry.get("clients.admission.requests").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,91 @@
+package com.alianza.clients.config;
+
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.dto.ClientsVersion;
+import com.alianza.clients.dto.Versioned;
+import com.alianza.clients.exception.ResourceNotFoundException;
+import com.alianza.clients.mapper.ClientMapperImpl;
+import com.alianza.clients.repository.IClientRepository;
+import com.alianza.clients.service.export.ClientExporterRegistry;
+import com.alianza.clients.service.impl.ClientServiceImpl;
+import com.alianza.clients.service.impl.InMemoryClientSearch;
+import com.alianza.clients.service.impl.ParallelCsvExporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CacheConfigTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final Duration NEGATIVE_TTL = Duration.ofSeconds(30);
+    private static final ClientsVersion VERSION = new ClientsVersion(7, LocalDateTime.of(2024, 5, 1, 10, 0));
+
+    private final AtomicLong nanos = new AtomicLong();
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        SimpleCacheManager manager = (SimpleCacheManager) new CacheConfig(nanos::get).cacheManager(100, TTL,
+                NEGATIVE_TTL, Duration.ofSeconds(30), Duration.ofSeconds(2));
+        // Spring lo inicializa al crear el bean
+        manager.afterPropertiesSet();
+        cacheManager = manager;
+    }
+
+    @Test
+    void sharedKeyCache_ShouldKeepEmptyResultsOnlyForTheNegativeTtl() {
+        // Arrange
+        Cache cache = cacheManager.getCache(CacheConfig.CLIENTS_BY_SHARED_KEY);
+        cache.put("nobody", new Versioned<>(VERSION, List.of()));
+        cache.put("ana", new Versioned<>(VERSION, List.of(ClientDTO.builder().id("1").build())));
+
+        // Act & Assert
+        advance(NEGATIVE_TTL.minusSeconds(1));
+        assertNotNull(cache.get("nobody"));
+        advance(Duration.ofSeconds(1));
+        assertNull(cache.get("nobody"));
+        assertNotNull(cache.get("ana"));
+        advance(TTL.minus(NEGATIVE_TTL));
+        assertNull(cache.get("ana"));
+    }
+
+    @Test
+    void searchClientsBySharedKey_WithoutMatches_ShouldQueryAgainOnceTheNegativeTtlExpires() {
+        // Arrange
+        IClientRepository clientRepository = mock(IClientRepository.class);
+        when(clientRepository.findVersion()).thenReturn(VERSION);
+        when(clientRepository.findBySharedKeyLike("%nobody%")).thenReturn(List.of());
+        ClientServiceImpl clientService = new ClientServiceImpl(clientRepository, new ClientMapperImpl(), cacheManager,
+                new SimpleMeterRegistry(), new ObjectMapper(), event -> { }, new ClientExporterRegistry(List.of()),
+                mock(ParallelCsvExporter.class), mock(PlatformTransactionManager.class),
+                new InMemoryClientSearch(clientRepository, Runnable::run, false, "", 10000), 500);
+
+        // Act
+        assertThrows(ResourceNotFoundException.class, () -> clientService.searchClientsBySharedKey("nobody"));
+        advance(NEGATIVE_TTL.minusSeconds(1));
+        assertThrows(ResourceNotFoundException.class, () -> clientService.searchClientsBySharedKey("NOBODY"));
+        verify(clientRepository, times(1)).findBySharedKeyLike("%nobody%");
+        advance(Duration.ofSeconds(1));
+        assertThrows(ResourceNotFoundException.class, () -> clientService.searchClientsBySharedKey("nobody"));
+
+        // Assert
+        verify(clientRepository, times(2)).findBySharedKeyLike("%nobody%");
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,145 @@
+package com.alianza.clients.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private SimpleMeterRegistry registry;
+    private DataSource primary;
+    private DataSource replica1;
+    private DataSource replica2;
+    private ReadWriteRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        registry = new SimpleMeterRegistry();
+        primary = dataSourceReturning(0);
+        replica1 = dataSourceReturning(0);
+        replica2 = dataSourceReturning(0);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        dataSource = new ReadWriteRoutingDataSource(primary, replicas, Duration.ofMinutes(1), Duration.ofSeconds(5),
+                registry);
+    }
+
+    @Test
+    void getConnection_WhenReadOnly_ShouldAlternateBetweenReplicas() throws SQLException {
+        // Act
+        read();
+        read();
+        read();
+
+        // Assert
+        verify(replica1, times(2)).getConnection();
+        verify(replica2, times(1)).getConnection();
+        verify(primary, never()).getConnection();
+        assertEquals(2, count("replica-1", "replica"));
+        assertEquals(1, count("replica-2", "replica"));
+    }
+
+    @Test
+    void getConnection_WhenNotReadOnly_ShouldUsePrimary() throws SQLException {
+        // Act
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement();
+        }
+
+        // Assert
+        verify(primary).getConnection();
+        verify(replica1, never()).getConnection();
+        verify(replica2, never()).getConnection();
+    }
+
+    @Test
+    void getConnection_AfterWrite_ShouldReadFromPrimary() throws SQLException {
+        // Arrange
+        dataSource.markWrite();
+
+        // Act
+        read();
+
+        // Assert
+        verify(primary).getConnection();
+        verify(replica1, never()).getConnection();
+        assertEquals(1, count("primary", "sticky"));
+    }
+
+    @Test
+    void getConnection_WhenReplicasLag_ShouldSkipThemAndFallBackToPrimary() throws SQLException {
+        // Arrange
+        when(replica1.getConnection()).thenAnswer(invocation -> connectionReturning(30));
+        when(replica2.getConnection()).thenThrow(new SQLException("connection refused"));
+        dataSource.refreshLag();
+
+        // Act
+        read();
+
+        // Assert
+        verify(primary).getConnection();
+        assertEquals(1, count("primary", "lag"));
+        assertEquals(30, registry.get("clients.datasource.replica.lag").tag("replica", "replica-1").gauge().value());
+        assertEquals(Double.POSITIVE_INFINITY,
+                registry.get("clients.datasource.replica.lag").tag("replica", "replica-2").gauge().value());
+    }
+
+    @Test
+    void getConnection_WhenOneReplicaLags_ShouldUseTheOther() throws SQLException {
+        // Arrange
+        when(replica1.getConnection()).thenAnswer(invocation -> connectionReturning(30));
+        dataSource.refreshLag();
+        clearInvocations(replica1, replica2);
+
+        // Act
+        read();
+        read();
+
+        // Assert
+        verify(replica1, never()).getConnection();
+        verify(replica2, times(2)).getConnection();
+    }
+
+    private void read() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            connection.createStatement();
+        }
+    }
+
+    private double count(String target, String reason) {
+        return registry.get("clients.datasource.routing").tag("target", target).tag("reason", reason)
+                .functionCounter().count();
+    }
+
+    private static DataSource dataSourceReturning(double lagSeconds) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenAnswer(invocation -> connectionReturning(lagSeconds));
+        return dataSource;
+    }
+
+    private static Connection connectionReturning(double lagSeconds) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(lagSeconds);
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        return connection;
+    }
+}
@@ -1,33 +1,65 @@
 package com.alianza.clients.controller;
 
+import com.alianza.clients.dto.BulkImportResultDTO;
+import com.alianza.clients.dto.ClientChangesDTO;
 import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.dto.ClientPageDTO;
 import com.alianza.clients.dto.ClientSearchCriteria;
+import com.alianza.clients.dto.ClientsVersion;
+import com.alianza.clients.dto.Versioned;
+import com.alianza.clients.dto.ExportJobDTO;
+import com.alianza.clients.exception.BadRequestException;
 import com.alianza.clients.exception.ExportException;
 import com.alianza.clients.exception.ResourceNotFoundException;
+import com.alianza.clients.exception.TooManyRequestsException;
+import com.alianza.clients.service.IClientChangeService;
+import com.alianza.clients.service.IClientImportService;
 import com.alianza.clients.service.IClientService;
+import com.alianza.clients.service.IExportJobService;
+import com.alianza.clients.service.export.ClientExporterRegistry;
+import com.alianza.clients.service.export.CsvClientExporter;
+import com.alianza.clients.service.export.ExcelClientExporter;
+import com.alianza.clients.service.export.GzipCsvClientExporter;
+import com.alianza.clients.service.export.ParquetClientExporter;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(ClientController.class)
+@WebMvcTest(value = ClientController.class,
+        properties = {"clients.admission.export.rate=0", "clients.admission.search.rate=0"})
+@Import({ClientExporterRegistry.class, CsvClientExporter.class, GzipCsvClientExporter.class,
+        ExcelClientExporter.class, ParquetClientExporter.class, SimpleMeterRegistry.class})
 class ClientControllerTest {
 
     @Autowired
@@ -36,15 +68,28 @@ class ClientControllerTest {
     @MockBean
     private IClientService clientService;
 
+    @MockBean
+    private IClientImportService clientImportService;
+
+    @MockBean
+    private IExportJobService exportJobService;
+
+    @MockBean
+    private IClientChangeService clientChangeService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     private ClientDTO clientDTO;
     private List<ClientDTO> clientDTOList;
     private ClientSearchCriteria searchCriteria;
+    private ClientsVersion version;
 
     @BeforeEach
     void setUp() {
+        version = new ClientsVersion(1, LocalDateTime.of(2024, 5, 1, 10, 30));
+        when(clientService.getClientsVersion()).thenReturn(version);
+
         clientDTO = ClientDTO.builder()
                 .id("1")
                 .name("Test Client")
@@ -69,7 +114,7 @@ class ClientControllerTest {
     @Test
     void getAllClients_ShouldReturnAllClients() throws Exception {
         // Arrange
-        when(clientService.getAllClients()).thenReturn(clientDTOList);
+        when(clientService.getAllClients()).thenReturn(new Versioned<>(version, clientDTOList));
 
         // Act & Assert
         mockMvc.perform(get("/api/clients"))
@@ -83,11 +128,124 @@ class ClientControllerTest {
         verify(clientService).getAllClients();
     }
 
+    @Test
+    void getAllClients_ShouldReturnVersionValidators() throws Exception {
+        // Arrange
+        when(clientService.getAllClients()).thenReturn(new Versioned<>(version, clientDTOList));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/clients"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, matchesPattern("W/\"1-[0-9a-f]+\"")))
+                .andExpect(header().string(HttpHeaders.ETAG, version.etag()))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, version.lastModifiedMillis() / 1000 * 1000));
+    }
+
+    @Test
+    void getAllClients_WithStrongFormOfCurrentETag_ShouldReturnNotModified() throws Exception {
+        // Act & Assert: If-None-Match usa la comparación débil
+        mockMvc.perform(get("/api/clients")
+                .header(HttpHeaders.IF_NONE_MATCH, version.etag().substring(2)))
+                .andExpect(status().isNotModified());
+
+        verify(clientService, never()).getAllClients();
+    }
+
+    @Test
+    void getAllClients_WithCurrentETag_ShouldReturnNotModifiedWithoutLoadingClients() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/clients")
+                .header(HttpHeaders.IF_NONE_MATCH, version.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, version.etag()))
+                .andExpect(content().string(""));
+
+        verify(clientService, never()).getAllClients();
+    }
+
+    @Test
+    void getAllClients_WhenCachedListIsOlderThanCurrentVersion_ShouldTagItWithItsOwnVersion() throws Exception {
+        // Arrange: la versión actual ya incluye un alta que el listado cacheado no contiene
+        ClientsVersion listVersion = new ClientsVersion(0, LocalDateTime.of(2024, 5, 1, 10, 0));
+        when(clientService.getAllClients()).thenReturn(new Versioned<>(listVersion, clientDTOList));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/clients")
+                .header(HttpHeaders.IF_NONE_MATCH, listVersion.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, listVersion.etag()));
+        mockMvc.perform(get("/api/clients"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, listVersion.etag()))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void getAllClients_WithIfModifiedSince_ShouldCompareWithListVersion() throws Exception {
+        // Arrange
+        when(clientService.getAllClients()).thenReturn(new Versioned<>(version, clientDTOList));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/clients")
+                .header(HttpHeaders.IF_MODIFIED_SINCE, version.lastModifiedMillis() / 1000 * 1000))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void searchClientsBySharedKey_WithStaleETag_ShouldReturnClients() throws Exception {
+        // Arrange
+        when(clientService.searchClientsBySharedKey("test")).thenReturn(new Versioned<>(version, clientDTOList));
+        String staleETag = new ClientsVersion(0, null).etag();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/clients/search")
+                .param("sharedKey", "test")
+                .header(HttpHeaders.IF_NONE_MATCH, staleETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, version.etag()))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void getClientsPage_ShouldReturnPageWithNextCursor() throws Exception {
+        // Arrange
+        ClientPageDTO page = ClientPageDTO.builder()
+                .content(clientDTOList)
+                .size(1)
+                .nextCursor("next")
+                .build();
+        when(clientService.getClientsPage(null, 1)).thenReturn(new Versioned<>(version, page));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/clients/page")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", is("1")))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+
+        verify(clientService).getClientsPage(null, 1);
+    }
+
+    @Test
+    void getClientsPage_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        when(clientService.getClientsPage("invalid", 50))
+                .thenThrow(new BadRequestException("Cursor de paginación inválido: invalid"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/clients/page")
+                .param("cursor", "invalid"))
+                .andExpect(status().isBadRequest());
+
+        verify(clientService).getClientsPage("invalid", 50);
+    }
+
     @Test
     void searchClientsBySharedKey_WithValidKey_ShouldReturnMatchingClients() throws Exception {
         // Arrange
         String sharedKey = "test";
-        when(clientService.searchClientsBySharedKey(sharedKey)).thenReturn(clientDTOList);
+        when(clientService.searchClientsBySharedKey(sharedKey)).thenReturn(new Versioned<>(version, clientDTOList));
 
         // Act & Assert
         mockMvc.perform(get("/api/clients/search")
@@ -152,6 +310,45 @@ class ClientControllerTest {
         verify(clientService, never()).createClient(any(ClientDTO.class));
     }
 
+    @Test
+    void importClients_WithCsvFile_ShouldReturnImportSummary() throws Exception {
+        // Arrange
+        BulkImportResultDTO result = BulkImportResultDTO.builder()
+                .totalRows(2)
+                .imported(1)
+                .failed(1)
+                .errors(List.of(new BulkImportResultDTO.RowError(3, "Invalid email format")))
+                .build();
+        when(clientImportService.importClients(any(InputStream.class), eq("CSV"))).thenReturn(result);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/clients/bulk")
+                .contentType("text/csv")
+                .content("name,email,phone\nTest,test@example.com,1234567890\nBad,bad,123\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(3)));
+
+        verify(clientImportService).importClients(any(InputStream.class), eq("CSV"));
+    }
+
+    @Test
+    void importClients_WithNdjsonFile_ShouldUseNdjsonFormat() throws Exception {
+        // Arrange
+        when(clientImportService.importClients(any(InputStream.class), eq("NDJSON")))
+                .thenReturn(BulkImportResultDTO.builder().totalRows(1).imported(1).errors(List.of()).build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/clients/bulk")
+                .contentType("application/x-ndjson")
+                .content(objectMapper.writeValueAsString(clientDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)));
+
+        verify(clientImportService).importClients(any(InputStream.class), eq("NDJSON"));
+    }
+
     @Test
     void searchClients_WithValidCriteria_ShouldReturnMatchingClients() throws Exception {
         // Arrange
@@ -186,55 +383,283 @@ class ClientControllerTest {
     }
 
     @Test
-    void exportClients_WithValidCriteria_ShouldReturnResource() throws Exception {
+    void searchClientsPage_WithLastPage_ShouldOmitNextCursor() throws Exception {
         // Arrange
-        byte[] csvData = "id,name,email,phone,sharedKey\n1,Test Client,test@example.com,1234567890,test".getBytes();
-        Resource resource = new ByteArrayResource(csvData);
-        
-        when(clientService.exportClients(any(ClientSearchCriteria.class))).thenReturn(resource);
+        ClientPageDTO page = ClientPageDTO.builder()
+                .content(clientDTOList)
+                .size(1)
+                .build();
+        when(clientService.searchClientsPage(any(ClientSearchCriteria.class), eq("cursor"), eq(10))).thenReturn(page);
 
         // Act & Assert
-        mockMvc.perform(post("/api/clients/export")
+        mockMvc.perform(post("/api/clients/search/advanced/page")
+                .param("cursor", "cursor")
+                .param("size", "10")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(searchCriteria)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        verify(clientService).searchClientsPage(any(ClientSearchCriteria.class), eq("cursor"), eq(10));
+    }
+
+    @Test
+    void getChanges_WithWatermark_ShouldReturnChangesAndNextWatermark() throws Exception {
+        // Arrange
+        ClientChangesDTO changes = ClientChangesDTO.builder()
+                .content(List.of(clientDTO))
+                .size(1)
+                .watermark("next")
+                .build();
+        when(clientChangeService.getChanges("since", 100, Duration.ofSeconds(30)))
+                .thenReturn(CompletableFuture.completedFuture(changes));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/clients/changes")
+                .param("since", "since")
+                .param("limit", "100")
+                .param("wait", "30"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.size", is(1)))
+                .andExpect(jsonPath("$.watermark", is("next")));
+
+        verify(clientChangeService).getChanges("since", 100, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void getChanges_WithInvalidLimit_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        when(clientChangeService.getChanges(null, 0, Duration.ZERO))
+                .thenThrow(new BadRequestException("El límite debe estar entre 1 y 500"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/clients/changes").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamClients_ShouldStreamNdjson() throws Exception {
+        // Arrange
+        byte[] ndjson = "{\"id\":\"1\"}\n{\"id\":\"2\"}\n".getBytes();
+        when(clientService.streamClients(any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write(ndjson);
+            return 2L;
+        });
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/clients/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().bytes(ndjson));
+
+        verify(clientService).streamClients(any(OutputStream.class));
+    }
+
+    @Test
+    void streamClients_WithGzipAccepted_ShouldCompressResponse() throws Exception {
+        // Arrange
+        byte[] ndjson = "{\"id\":\"1\"}\n".getBytes();
+        when(clientService.streamClients(any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write(ndjson);
+            return 1L;
+        });
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/clients/stream")
+                .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        MvcResult response = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn();
+
+        byte[] body = response.getResponse().getContentAsByteArray();
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertArrayEquals(ndjson, gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void exportClients_WithValidCriteria_ShouldStreamCsv() throws Exception {
+        // Arrange
+        byte[] csvData = "id,name,email,phone,sharedKey\n1,Test Client,test@example.com,1234567890,test".getBytes();
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write(csvData);
+            return null;
+        }).when(clientService).exportClients(any(ClientSearchCriteria.class), any(OutputStream.class));
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/clients/export")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(searchCriteria)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(header().string("Content-Disposition", "attachment; filename=\"clients.csv\""))
-                .andExpect(content().contentType("text/csv"));
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().bytes(csvData));
 
-        verify(clientService).exportClients(any(ClientSearchCriteria.class));
+        verify(clientService).exportClients(any(ClientSearchCriteria.class), any(OutputStream.class));
     }
 
     @Test
-    void exportClients_WithExcelFormat_ShouldReturnExcelResource() throws Exception {
+    void exportClients_WithExcelFormat_ShouldStreamExcel() throws Exception {
         // Arrange
         searchCriteria.setExportFormat("EXCEL");
-        byte[] excelData = new byte[100];
-        Resource resource = new ByteArrayResource(excelData);
-        
-        when(clientService.exportClients(any(ClientSearchCriteria.class))).thenReturn(resource);
 
-        // Act & Assert
-        mockMvc.perform(post("/api/clients/export")
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/clients/export")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(searchCriteria)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
-                .andExpect(header().string("Content-Disposition", "attachment; filename=\"clients.excel\""))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"clients.xlsx\""))
                 .andExpect(content().contentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
 
-        verify(clientService).exportClients(any(ClientSearchCriteria.class));
+        verify(clientService).exportClients(any(ClientSearchCriteria.class), any(OutputStream.class));
     }
 
     @Test
-    void exportClients_WithIOException_ShouldThrowExportException() throws Exception {
+    void exportClients_WithCompressedFormats_ShouldUseExporterContentTypeAndExtension() throws Exception {
+        for (String[] format : new String[][] {
+                {"csv_gzip", "application/gzip", "clients.csv.gz"},
+                {"PARQUET", "application/vnd.apache.parquet", "clients.parquet"}}) {
+            // Arrange
+            searchCriteria.setExportFormat(format[0]);
+
+            // Act
+            MvcResult result = mockMvc.perform(post("/api/clients/export")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(searchCriteria)))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Assert
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Disposition", "attachment; filename=\"" + format[2] + "\""))
+                    .andExpect(content().contentType(format[1]));
+        }
+    }
+
+    @Test
+    void submitExportJob_WhenTooManyRequests_ShouldReturn429WithRetryAfter() throws Exception {
         // Arrange
-        when(clientService.exportClients(any(ClientSearchCriteria.class))).thenThrow(new java.io.IOException("Export failed"));
+        when(exportJobService.submitExport(any(ClientSearchCriteria.class)))
+                .thenThrow(new TooManyRequestsException("Demasiadas exportaciones", Duration.ofMillis(1500)));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/clients/export/jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(searchCriteria)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.status", is(429)));
+    }
+
+    @Test
+    void exportClients_WithUnsupportedFormat_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        searchCriteria.setExportFormat("PDF");
 
         // Act & Assert
         mockMvc.perform(post("/api/clients/export")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(searchCriteria)))
+                .andExpect(status().isBadRequest());
+
+        verify(clientService, never()).exportClients(any(ClientSearchCriteria.class), any(OutputStream.class));
+    }
+
+    @Test
+    void exportClients_WithIOException_ShouldThrowExportException() throws Exception {
+        // Arrange
+        doThrow(new java.io.IOException("Export failed"))
+                .when(clientService).exportClients(any(ClientSearchCriteria.class), any(OutputStream.class));
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/clients/export")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(searchCriteria)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isInternalServerError());
 
-        verify(clientService).exportClients(any(ClientSearchCriteria.class));
+        verify(clientService).exportClients(any(ClientSearchCriteria.class), any(OutputStream.class));
+    }
+
+    @Test
+    void submitExportJob_WithValidCriteria_ShouldReturnAccepted() throws Exception {
+        // Arrange
+        ExportJobDTO job = ExportJobDTO.builder().id("job-1").status("PENDING").exportFormat("CSV").build();
+        when(exportJobService.submitExport(any(ClientSearchCriteria.class))).thenReturn(job);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/clients/export/jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(searchCriteria)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/clients/export/jobs/job-1"))
+                .andExpect(jsonPath("$.status", is("PENDING")));
+
+        verify(exportJobService).submitExport(any(ClientSearchCriteria.class));
+    }
+
+    @Test
+    void getExportJob_WithUnknownId_ShouldReturnNotFound() throws Exception {
+        // Arrange
+        when(exportJobService.getExportJob("missing"))
+                .thenThrow(new ResourceNotFoundException("Exportación", "id", "missing"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/clients/export/jobs/missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void downloadExportJob_WithRange_ShouldReturnPartialContent() throws Exception {
+        // Arrange
+        ExportJobDTO job = ExportJobDTO.builder().id("job-1").status("COMPLETED").exportFormat("CSV").build();
+        Resource file = new ByteArrayResource("0123456789".getBytes()) {
+            @Override
+            public String getFilename() {
+                return "job-1.csv";
+            }
+        };
+        when(exportJobService.getExportJob("job-1")).thenReturn(job);
+        when(exportJobService.getExportFile("job-1")).thenReturn(file);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/clients/export/jobs/job-1/file")
+                .header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 2-5/10"))
+                .andExpect(content().string("2345"));
     }
-}
\ No newline at end of file
+}
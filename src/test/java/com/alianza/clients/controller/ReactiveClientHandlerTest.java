@@ -0,0 +1,167 @@
+package com.alianza.clients.controller;
+
+import com.alianza.clients.config.AdmissionControl;
+import com.alianza.clients.config.AdmissionControlFilter;
+import com.alianza.clients.config.ReactiveWebServer;
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.dto.ClientSearchCriteria;
+import com.alianza.clients.repository.ReactiveClientRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveClientHandlerTest {
+
+    private ReactiveClientRepository clientRepository;
+    private SimpleMeterRegistry registry;
+    private ObjectMapper objectMapper;
+    private WebTestClient webTestClient;
+    private ClientDTO clientDTO;
+
+    @BeforeEach
+    void setUp() {
+        clientRepository = mock(ReactiveClientRepository.class);
+        // Igual que el ObjectMapper de Spring Boot: fechas ISO
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        registry = new SimpleMeterRegistry();
+        // Una sola búsqueda avanzada admitida: la ficha apenas se rellena durante la prueba
+        AdmissionControl searchAdmission = new AdmissionControl("search", 0.001, 1, 0,
+                Duration.ZERO, Duration.ZERO, registry);
+        webTestClient = WebTestClient
+                .bindToRouterFunction(new ReactiveClientHandler(clientRepository)
+                        .routes(new AdmissionControlFilter(searchAdmission)))
+                .handlerStrategies(ReactiveWebServer.handlerStrategies(objectMapper))
+                .build();
+
+        clientDTO = ClientDTO.builder()
+                .id("1")
+                .name("Test Client")
+                .email("test@example.com")
+                .phone("1234567890")
+                .sharedKey("test")
+                .createdAt(LocalDate.of(2024, 5, 1))
+                .build();
+    }
+
+    @Test
+    void getAllClients_ShouldReturnJsonArray() {
+        // Arrange
+        when(clientRepository.findAll()).thenReturn(Flux.just(clientDTO));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/clients")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo("1")
+                .jsonPath("$[0].createdAt").isEqualTo("2024-05-01");
+    }
+
+    @Test
+    void searchClientsBySharedKey_WhenNoMatches_ShouldReturnNotFound() {
+        // Arrange
+        when(clientRepository.findBySharedKeyLike("%nobody%")).thenReturn(Flux.empty());
+
+        // Act & Assert
+        webTestClient.get().uri("/api/clients/search?sharedKey=nobody")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.message").value(is("Cliente no encontrado con sharedKey: 'nobody'"))
+                .jsonPath("$.path").isEqualTo("/api/clients/search");
+    }
+
+    @Test
+    void searchClients_WhenNdjsonAccepted_ShouldStreamOneClientPerLine() {
+        // Arrange
+        ClientDTO otherClient = ClientDTO.builder().id("2").name("Other Client").email("other@example.com").build();
+        when(clientRepository.search(argThat(criteria -> "Client".equals(criteria.getName()))))
+                .thenReturn(Flux.just(clientDTO, otherClient));
+
+        // Act
+        String body = webTestClient.post().uri("/api/clients/search/advanced")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ClientSearchCriteria.builder().name("Client").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Assert
+        assertEquals(2, body.strip().lines().count());
+        verify(clientRepository).search(argThat(criteria -> "Client".equals(criteria.getName())));
+    }
+
+    @Test
+    void searchClients_WhenRateLimitIsExceeded_ShouldReturnTooManyRequests() {
+        // Arrange
+        when(clientRepository.search(any())).thenReturn(Flux.just(clientDTO));
+        when(clientRepository.findAll()).thenReturn(Flux.just(clientDTO));
+        ClientSearchCriteria criteria = ClientSearchCriteria.builder().name("Client").build();
+        webTestClient.post().uri("/api/clients/search/advanced").bodyValue(criteria)
+                .exchange()
+                .expectStatus().isOk();
+
+        // Act & Assert
+        webTestClient.post().uri("/api/clients/search/advanced").bodyValue(criteria)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS)
+                .expectHeader().exists(HttpHeaders.RETRY_AFTER)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(429);
+        // Las consultas baratas no se limitan
+        webTestClient.get().uri("/api/clients")
+                .exchange()
+                .expectStatus().isOk();
+        assertEquals(1, registry.get("clients.admission.requests").tag("result", "rate_limited").counter().count());
+    }
+
+    @Test
+    void searchClients_WithConcurrencyLimit_ShouldReleaseThePermitOnceTheResponseIsWritten() {
+        // Arrange: un solo hueco y sin límite de tasa
+        AdmissionControl admission = new AdmissionControl("search", 0, 0, 1, Duration.ZERO, Duration.ZERO, registry);
+        WebTestClient client = WebTestClient
+                .bindToRouterFunction(new ReactiveClientHandler(clientRepository)
+                        .routes(new AdmissionControlFilter(admission)))
+                .handlerStrategies(ReactiveWebServer.handlerStrategies(objectMapper))
+                .build();
+        when(clientRepository.search(any())).thenReturn(Flux.just(clientDTO));
+        ClientSearchCriteria criteria = ClientSearchCriteria.builder().name("Client").build();
+
+        // Act & Assert
+        for (int i = 0; i < 3; i++) {
+            client.post().uri("/api/clients/search/advanced").bodyValue(criteria)
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+        assertEquals(0, registry.get("clients.admission.requests").tag("result", "concurrency_limited").counter().count());
+    }
+}
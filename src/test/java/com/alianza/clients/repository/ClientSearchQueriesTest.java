@@ -0,0 +1,144 @@
+package com.alianza.clients.repository;
+
+import com.alianza.clients.dto.ClientCursor;
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.dto.ClientKeysetRow;
+import com.alianza.clients.dto.ClientSearchCriteria;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ClientSearchQueriesTest {
+
+    private ClientSearchQueries searchQueries;
+    private EntityManager entityManager;
+    private TypedQuery<ClientDTO> dtoQuery;
+    private TypedQuery<ClientKeysetRow> keysetQuery;
+
+    @BeforeEach
+    void setUp() {
+        searchQueries = new ClientSearchQueries();
+        entityManager = mock(EntityManager.class);
+        dtoQuery = mock(TypedQuery.class);
+        keysetQuery = mock(TypedQuery.class);
+        when(entityManager.createQuery(anyString(), eq(ClientDTO.class))).thenReturn(dtoQuery);
+        when(entityManager.createQuery(anyString(), eq(ClientKeysetRow.class))).thenReturn(keysetQuery);
+    }
+
+    @Test
+    void dtoQuery_WithSameShape_ShouldReuseStatementAndBindValues() {
+        // Arrange
+        ClientSearchCriteria first = ClientSearchCriteria.builder().name("John").build();
+        ClientSearchCriteria second = ClientSearchCriteria.builder().name("50%_off").build();
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+
+        // Act
+        searchQueries.dtoQuery(entityManager, first);
+        searchQueries.dtoQuery(entityManager, second);
+
+        // Assert
+        verify(entityManager, times(2)).createQuery(statements.capture(), eq(ClientDTO.class));
+        assertSame(statements.getAllValues().get(0), statements.getAllValues().get(1));
+        assertFalse(statements.getValue().contains("john"));
+        verify(dtoQuery).setParameter("name", "%john%");
+        verify(dtoQuery).setParameter("name", "%50\\%\\_off%");
+    }
+
+    @Test
+    void dtoQuery_WithBlankAndNullFields_ShouldShareStatementWithoutFilters() {
+        // Arrange
+        ClientSearchCriteria blank = ClientSearchCriteria.builder().name(" ").email("").build();
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+
+        // Act
+        searchQueries.dtoQuery(entityManager, blank);
+        searchQueries.dtoQuery(entityManager, null);
+
+        // Assert
+        verify(entityManager, times(2)).createQuery(statements.capture(), eq(ClientDTO.class));
+        assertEquals(statements.getAllValues().get(0), statements.getAllValues().get(1));
+        assertFalse(statements.getValue().contains(" where "));
+        verify(dtoQuery, never()).setParameter(anyString(), any());
+    }
+
+    @Test
+    void dtoQuery_WithDateRange_ShouldIncludeWholeEndDate() {
+        // Arrange
+        ClientSearchCriteria criteria = ClientSearchCriteria.builder()
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 31))
+                .build();
+        ArgumentCaptor<String> statement = ArgumentCaptor.forClass(String.class);
+
+        // Act
+        searchQueries.dtoQuery(entityManager, criteria);
+
+        // Assert
+        verify(entityManager).createQuery(statement.capture(), eq(ClientDTO.class));
+        assertTrue(statement.getValue().contains("c.createdAt >= :startDate and c.createdAt < :endDate"));
+        verify(dtoQuery).setParameter("startDate", LocalDateTime.of(2024, 1, 1, 0, 0));
+        verify(dtoQuery).setParameter("endDate", LocalDateTime.of(2024, 2, 1, 0, 0));
+    }
+
+    @Test
+    void dtoQuery_WithCreatedAtRanges_ShouldKeepNullDatesInFirstRange() {
+        // Arrange
+        LocalDateTime bound = LocalDateTime.of(2024, 6, 1, 0, 0);
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+
+        // Act
+        searchQueries.dtoQuery(entityManager, null, null, bound);
+        searchQueries.dtoQuery(entityManager, null, bound, null);
+
+        // Assert
+        verify(entityManager, times(2)).createQuery(statements.capture(), eq(ClientDTO.class));
+        assertTrue(statements.getAllValues().get(0).endsWith("(c.createdAt < :rangeTo or c.createdAt is null)"));
+        assertTrue(statements.getAllValues().get(1).endsWith("c.createdAt >= :rangeFrom"));
+        verify(dtoQuery).setParameter("rangeTo", bound);
+        verify(dtoQuery).setParameter("rangeFrom", bound);
+    }
+
+    @Test
+    void keysetQuery_WithCursor_ShouldSeekAfterCursorAndOrder() {
+        // Arrange
+        ClientCursor cursor = new ClientCursor(LocalDateTime.of(2024, 1, 1, 10, 30), "abc");
+        ArgumentCaptor<String> statement = ArgumentCaptor.forClass(String.class);
+
+        // Act
+        searchQueries.keysetQuery(entityManager, null, cursor);
+
+        // Assert
+        verify(entityManager).createQuery(statement.capture(), eq(ClientKeysetRow.class));
+        assertTrue(statement.getValue().endsWith("order by c.createdAt, c.id"));
+        verify(keysetQuery).setParameter("afterCreatedAt", cursor.createdAt());
+        verify(keysetQuery).setParameter("afterId", "abc");
+    }
+
+    @Test
+    void bindTo_ShouldPublishHitsAndMisses() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        searchQueries.bindTo(registry);
+
+        // Act
+        searchQueries.dtoQuery(entityManager, ClientSearchCriteria.builder().email("a").build());
+        searchQueries.dtoQuery(entityManager, ClientSearchCriteria.builder().email("b").build());
+        searchQueries.dtoQuery(entityManager, ClientSearchCriteria.builder().phone("1").build());
+
+        // Assert
+        assertEquals(1, registry.get("clients.search.statements").tag("result", "hit").functionCounter().count());
+        assertEquals(2, registry.get("clients.search.statements").tag("result", "miss").functionCounter().count());
+        assertEquals(2, registry.get("clients.search.statements.size").gauge().value());
+    }
+}
@@ -0,0 +1,45 @@
+package com.alianza.clients.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LikePatternsTest {
+
+    @Test
+    void containsPattern_WithPlainValue_ShouldReturnLowerCaseSubstringPattern() {
+        // Act
+        String pattern = LikePatterns.containsPattern("John");
+
+        // Assert
+        assertEquals("%john%", pattern);
+    }
+
+    @Test
+    void containsPattern_WithWildcards_ShouldEscapeThemToMatchLiterally() {
+        // Act
+        String pattern = LikePatterns.containsPattern("50%_Off\\");
+
+        // Assert
+        assertEquals("%50\\%\\_off\\\\%", pattern);
+    }
+
+    @Test
+    void containsPattern_WithTurkishDefaultLocale_ShouldNotUseLocaleSpecificLowerCase() {
+        // Arrange
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+
+        try {
+            // Act
+            String pattern = LikePatterns.containsPattern("IVAN");
+
+            // Assert
+            assertEquals("%ivan%", pattern);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+}
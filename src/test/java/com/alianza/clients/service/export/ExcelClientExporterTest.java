@@ -0,0 +1,68 @@
+package com.alianza.clients.service.export;
+
+import com.alianza.clients.dto.ClientDTO;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExcelClientExporterTest {
+
+    @Test
+    void export_WhenSheetIsFull_ShouldContinueOnANewSheetWithItsOwnHeader() throws Exception {
+        // Arrange: tres filas por hoja, es decir, el encabezado y dos clientes
+        ExcelClientExporter exporter = new ExcelClientExporter(100, false, 3);
+        List<ClientDTO> clients = IntStream.range(0, 5).mapToObj(i -> ClientDTO.builder()
+                .id("id-" + i)
+                .sharedKey("user" + i)
+                .name("Client " + i)
+                .email("user" + i + "@example.com")
+                .phone(String.format("%010d", i))
+                .createdAt(LocalDate.of(2024, 1, 1).plusDays(i))
+                .build()).toList();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Long> progress = new ArrayList<>();
+
+        // Act
+        exporter.export(clients.stream(), out, progress::add, new ExportPhases());
+
+        // Assert
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(3, workbook.getNumberOfSheets());
+            assertEquals(List.of("Clients", "Clients 2", "Clients 3"), IntStream.range(0, 3)
+                    .mapToObj(workbook::getSheetName).toList());
+            assertEquals(List.of(List.of("id-0", "id-1"), List.of("id-2", "id-3"), List.of("id-4")),
+                    IntStream.range(0, 3).mapToObj(i -> ids(workbook.getSheetAt(i))).toList());
+
+            Sheet second = workbook.getSheetAt(1);
+            assertEquals(List.of("ID", "Shared Key", "Business ID", "Email", "Phone", "Created At"),
+                    cells(second.getRow(0)));
+            assertEquals(List.of("id-2", "user2", "Client 2", "user2@example.com", "0000000002", "2024-01-03"),
+                    cells(second.getRow(1)));
+        }
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), progress);
+    }
+
+    private static List<String> ids(Sheet sheet) {
+        return StreamSupport.stream(sheet.spliterator(), false)
+                .filter(row -> row.getRowNum() > 0)
+                .map(row -> row.getCell(0).getStringCellValue())
+                .toList();
+    }
+
+    private static List<String> cells(Row row) {
+        return StreamSupport.stream(row.spliterator(), false)
+                .map(cell -> cell.getStringCellValue())
+                .toList();
+    }
+}
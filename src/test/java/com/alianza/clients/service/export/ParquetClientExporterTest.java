@@ -0,0 +1,117 @@
+package com.alianza.clients.service.export;
+
+import com.alianza.clients.dto.ClientDTO;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.conf.PlainParquetConfiguration;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.schema.MessageType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParquetClientExporterTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void export_ShouldWriteReadableFileWithDictionaryOnlyForCreatedAt() throws Exception {
+        // Arrange
+        ParquetClientExporter exporter = new ParquetClientExporter(DataSize.ofMegabytes(1), CompressionCodecName.SNAPPY);
+        Stream<ClientDTO> clients = IntStream.range(0, 1000).mapToObj(i -> ClientDTO.builder()
+                .id("id-" + i)
+                .sharedKey("user" + i)
+                .name("Client " + i)
+                .email("user" + i + "@example.com")
+                .phone(i == 0 ? null : String.format("%010d", i))
+                .createdAt(LocalDate.of(2024, 1, 1).plusDays(i % 3))
+                .build());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long[] progress = new long[1];
+
+        // Act
+        exporter.export(clients, out, rows -> progress[0] = rows, new ExportPhases());
+
+        // Assert
+        try (ParquetFileReader reader = open(out)) {
+            assertEquals(1000, reader.getRecordCount());
+            assertEquals(1000, progress[0]);
+
+            BlockMetaData rowGroup = reader.getFooter().getBlocks().get(0);
+            Map<String, ColumnChunkMetaData> columns = rowGroup.getColumns().stream()
+                    .collect(Collectors.toMap(column -> column.getPath().toDotString(), column -> column));
+            assertTrue(columns.get("created_at").getEncodings().contains(Encoding.PLAIN_DICTIONARY));
+            assertFalse(columns.get("name").getEncodings().contains(Encoding.PLAIN_DICTIONARY));
+            assertFalse(columns.get("id").getEncodings().contains(Encoding.PLAIN_DICTIONARY));
+
+            MessageType schema = reader.getFooter().getFileMetaData().getSchema();
+            PageReadStore pages = reader.readNextRowGroup();
+            RecordReader<Group> records = new ColumnIOFactory().getColumnIO(schema)
+                    .getRecordReader(pages, new GroupRecordConverter(schema));
+            Group first = records.read();
+            assertEquals("id-0", first.getString("id", 0));
+            assertEquals(0, first.getFieldRepetitionCount("phone"));
+            assertEquals(LocalDate.of(2024, 1, 1).toEpochDay(), first.getInteger("created_at", 0));
+        }
+    }
+
+    @Test
+    void export_WithEachSupportedCodec_ShouldWriteReadablePages() throws Exception {
+        for (CompressionCodecName codec : List.of(CompressionCodecName.UNCOMPRESSED, CompressionCodecName.GZIP,
+                CompressionCodecName.ZSTD)) {
+            // Arrange
+            ParquetClientExporter exporter = new ParquetClientExporter(DataSize.ofMegabytes(1), codec);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            // Act
+            exporter.export(Stream.of(ClientDTO.builder().id("id-0").sharedKey("user0").name("Ana").build()),
+                    out, rows -> { }, new ExportPhases());
+
+            // Assert
+            try (ParquetFileReader reader = open(out)) {
+                assertEquals(codec, reader.getFooter().getBlocks().get(0).getColumns().get(0).getCodec());
+                MessageType schema = reader.getFooter().getFileMetaData().getSchema();
+                Group first = new ColumnIOFactory().getColumnIO(schema)
+                        .getRecordReader(reader.readNextRowGroup(), new GroupRecordConverter(schema)).read();
+                assertEquals("Ana", first.getString("name", 0), codec.name());
+            }
+        }
+    }
+
+    @Test
+    void constructor_WithCodecThatNeedsHadoop_ShouldFail() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParquetClientExporter(DataSize.ofMegabytes(1), CompressionCodecName.LZO));
+    }
+
+    /**
+     * Lee el archivo exportado con los mismos códecs, sin Hadoop.
+     */
+    private ParquetFileReader open(ByteArrayOutputStream out) throws Exception {
+        Path file = Files.write(Files.createTempFile(tempDir, "clients", ".parquet"), out.toByteArray());
+        return ParquetFileReader.open(new LocalInputFile(file),
+                ParquetReadOptions.builder(new PlainParquetConfiguration()).withCodecFactory(new ParquetCodecs()).build());
+    }
+}
@@ -0,0 +1,129 @@
+package com.alianza.clients.service.impl;
+
+import com.alianza.clients.dto.ClientChangeCursor;
+import com.alianza.clients.dto.ClientChangeRow;
+import com.alianza.clients.dto.ClientChangesDTO;
+import com.alianza.clients.dto.ClientCursor;
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.event.ClientsChangedEvent;
+import com.alianza.clients.exception.BadRequestException;
+import com.alianza.clients.repository.IClientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class ClientChangeServiceImplTest {
+
+    private IClientRepository clientRepository;
+    private ClientChangeServiceImpl changeService;
+
+    @BeforeEach
+    void setUp() {
+        clientRepository = mock(IClientRepository.class);
+        changeService = new ClientChangeServiceImpl(clientRepository, Runnable::run, Duration.ofSeconds(60), 10, 500);
+    }
+
+    @Test
+    void getChanges_WithLateCommittingTransaction_ShouldDeliverItsRowAfterTheWatermark() {
+        // Arrange: la transacción 98 escribe antes que la 99 pero confirma después que ella
+        ClientChangeRow early = row("id-97", 97);
+        ClientChangeRow late = row("id-98", 98);
+        ClientChangeRow committed = row("id-99", 99);
+        when(clientRepository.findChangeHorizon()).thenReturn(98L, 100L);
+        when(clientRepository.findChanges(98L, Limit.of(10))).thenReturn(List.of(early));
+        when(clientRepository.findChangesAfter(97L, "id-97", 100L, Limit.of(10))).thenReturn(List.of(late, committed));
+
+        // Act: la 98 sigue abierta en la primera consulta, así que la 99 tampoco se entrega
+        ClientChangesDTO first = changeService.getChanges(null, 10, Duration.ZERO).join();
+        ClientChangesDTO second = changeService.getChanges(first.getWatermark(), 10, Duration.ZERO).join();
+
+        // Assert
+        assertEquals(List.of("id-97"), first.getContent().stream().map(ClientDTO::getId).toList());
+        assertEquals(new ClientChangeCursor(97, "id-97"), ClientChangeCursor.decode(first.getWatermark()));
+        assertEquals(List.of("id-98", "id-99"), second.getContent().stream().map(ClientDTO::getId).toList());
+        assertEquals(new ClientChangeCursor(99, "id-99"), ClientChangeCursor.decode(second.getWatermark()));
+    }
+
+    @Test
+    void getChanges_WithoutChanges_ShouldKeepTheWatermark() {
+        // Arrange
+        String since = new ClientChangeCursor(97, "id-97").encode();
+        when(clientRepository.findChangeHorizon()).thenReturn(98L);
+
+        // Act
+        ClientChangesDTO changes = changeService.getChanges(since, 10, Duration.ZERO).join();
+
+        // Assert
+        assertTrue(changes.getContent().isEmpty());
+        assertEquals(since, changes.getWatermark());
+    }
+
+    @Test
+    void getChanges_WhenWaiting_ShouldQueryAgainAsSoonAsClientsChange() {
+        // Arrange
+        when(clientRepository.findChangeHorizon()).thenReturn(98L, 99L);
+        when(clientRepository.findChanges(99L, Limit.of(10))).thenReturn(List.of(row("id-98", 98)));
+        CompletableFuture<ClientChangesDTO> pending = changeService.getChanges(null, 10, Duration.ofSeconds(30));
+        assertFalse(pending.isDone());
+
+        // Act
+        changeService.onClientsChanged(new ClientsChangedEvent(1));
+
+        // Assert
+        assertEquals(List.of("id-98"), pending.join().getContent().stream().map(ClientDTO::getId).toList());
+    }
+
+    @Test
+    void pollForChanges_WhenAnotherNodeCommits_ShouldWakeOnlyTheWaitersBehindIt() {
+        // Arrange: dos consultas en espera, con marcas de agua en las transacciones 97 y 99
+        String behind = new ClientChangeCursor(97, "id-97").encode();
+        String current = new ClientChangeCursor(99, "id-99").encode();
+        when(clientRepository.findChangeHorizon()).thenReturn(100L);
+        when(clientRepository.findChangesAfter(97L, "id-97", 100L, Limit.of(10)))
+                .thenReturn(List.of(), List.of(row("id-98", 98)));
+        CompletableFuture<ClientChangesDTO> first = changeService.getChanges(behind, 10, Duration.ofSeconds(30));
+        CompletableFuture<ClientChangesDTO> second = changeService.getChanges(current, 10, Duration.ofSeconds(30));
+        when(clientRepository.findLatestChangeXid()).thenReturn(98L);
+
+        // Act
+        changeService.pollForChanges();
+
+        // Assert
+        assertEquals(List.of("id-98"), first.join().getContent().stream().map(ClientDTO::getId).toList());
+        assertFalse(second.isDone());
+    }
+
+    @Test
+    void pollForChanges_WithoutWaiters_ShouldNotQueryTheFeed() {
+        // Act
+        changeService.pollForChanges();
+
+        // Assert
+        verify(clientRepository, never()).findLatestChangeXid();
+    }
+
+    @Test
+    void getChanges_WithTimestampWatermark_ShouldThrowBadRequest() {
+        // Arrange: marca de agua del feed anterior, ordenado por fecha de modificación
+        String since = new ClientCursor(LocalDateTime.of(2024, 1, 1, 0, 0), "id-1").encode();
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> changeService.getChanges(since, 10, Duration.ZERO));
+        verify(clientRepository, never()).findChangesAfter(anyLong(), any(), anyLong(), any());
+    }
+
+    private static ClientChangeRow row(String id, long changeXid) {
+        return new ClientChangeRow(id, "key-" + id, "Client " + id, id + "@example.com", "3001234567",
+                LocalDate.of(2024, 1, 1), changeXid);
+    }
+}
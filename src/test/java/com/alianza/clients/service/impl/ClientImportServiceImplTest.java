@@ -0,0 +1,160 @@
+package com.alianza.clients.service.impl;
+
+import com.alianza.clients.dto.BulkImportResultDTO;
+import com.alianza.clients.dto.BulkImportResultDTO.RowError;
+import com.alianza.clients.event.ClientsChangedEvent;
+import com.alianza.clients.mapper.ClientMapperImpl;
+import com.alianza.clients.model.Client;
+import com.alianza.clients.repository.ClientBatchRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ClientImportServiceImplTest {
+
+    private ClientBatchRepository clientBatchRepository;
+    private List<Object> events;
+    private ClientImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        clientBatchRepository = mock(ClientBatchRepository.class);
+        // Por defecto se insertan todas las filas del lote
+        when(clientBatchRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> {
+            List<Client> clients = invocation.getArgument(0);
+            return clients.stream().map(Client::getSharedKey).collect(Collectors.toCollection(HashSet::new));
+        });
+        events = new ArrayList<>();
+        importService = new ClientImportServiceImpl(clientBatchRepository, new ClientMapperImpl(),
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), events::add, 2, 3);
+    }
+
+    @Test
+    void importClients_WithInvalidRows_ShouldImportTheValidOnesAndReportTheRest() throws Exception {
+        // Arrange
+        String csv = """
+                name,email,phone
+                Ana,ana@example.com,3001234567
+                Luis,not-an-email,3001234567
+                ,pedro@example.com,123
+                Marta,marta@example.com,
+                """;
+
+        // Act
+        BulkImportResultDTO result = importService.importClients(stream(csv), "CSV");
+
+        // Assert
+        assertEquals(4, result.getTotalRows());
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of(
+                new RowError(3, "Invalid email format"),
+                new RowError(4, "Name is required; Phone number must be 10 digits")), result.getErrors());
+        verify(clientBatchRepository, times(1)).insertIgnoringDuplicates(anyList());
+        assertEquals(List.of(new ClientsChangedEvent(2)), events);
+    }
+
+    @Test
+    void importClients_WithExistingOrRepeatedSharedKeys_ShouldSkipTheDuplicates() throws Exception {
+        // Arrange: lotes de dos filas; "luis" se repite dentro del primero y "ana" ya existe
+        when(clientBatchRepository.insertIgnoringDuplicates(anyList()))
+                .thenAnswer(invocation -> new HashSet<>(List.of("luis")))
+                .thenAnswer(invocation -> new HashSet<>());
+        String ndjson = """
+                {"name":"Luis","email":"luis@example.com"}
+
+                {"name":"Luis","email":"LUIS@example.org"}
+                {"name":"Ana","email":"ana@example.com"}
+                """;
+
+        // Act
+        BulkImportResultDTO result = importService.importClients(stream(ndjson), "NDJSON");
+
+        // Assert
+        assertEquals(3, result.getTotalRows());
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of(
+                new RowError(3, "El sharedKey 'luis' o el email 'LUIS@example.org' ya existen"),
+                new RowError(4, "El sharedKey 'ana' o el email 'ana@example.com' ya existen")), result.getErrors());
+        assertEquals(List.of(new ClientsChangedEvent(1)), events);
+    }
+
+    @Test
+    void importClients_WithMultilineQuotedFields_ShouldReportTheLineWhereEachRecordStarts() throws Exception {
+        // Arrange: el nombre de Ana ocupa las líneas 2 y 3, y la línea 5 está vacía
+        String csv = "name,email,phone\n"
+                + "\"Ana\nMaría\",ana@example.com,3001234567\n"
+                + "Luis,not-an-email,\n"
+                + "\n"
+                + "\"Pedro\r\nPérez\",pedro-at-example.com,\r\n"
+                + "Marta,marta-at-example.com,";
+
+        // Act
+        BulkImportResultDTO result = importService.importClients(stream(csv), "CSV");
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertEquals(List.of(4L, 6L, 8L), result.getErrors().stream().map(RowError::getLine).toList());
+    }
+
+    @Test
+    void importClients_WithMoreErrorsThanReported_ShouldCountAllButReportOnlyTheFirst() throws Exception {
+        // Arrange
+        String ndjson = "{\n{\"name\":\"Ana\"}\nnot json\n{\"name\":\"Luis\",\"email\":\"luis@example.com\"}\n[]\n";
+
+        // Act
+        BulkImportResultDTO result = importService.importClients(stream(ndjson), "NDJSON");
+
+        // Assert
+        assertEquals(5, result.getTotalRows());
+        assertEquals(1, result.getImported());
+        assertEquals(4, result.getFailed());
+        assertEquals(List.of(1L, 2L, 3L), result.getErrors().stream().map(RowError::getLine).toList());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("JSON inválido: "));
+        assertEquals("Email is required", result.getErrors().get(1).getMessage());
+    }
+
+    @Test
+    void importClients_WhenAChunkFails_ShouldReportEveryRowOfThatChunkAndKeepTheOthers() throws Exception {
+        // Arrange: lotes de dos filas; el segundo falla
+        when(clientBatchRepository.insertIgnoringDuplicates(anyList()))
+                .thenAnswer(invocation -> new HashSet<>(List.of("ana", "luis")))
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+        String csv = """
+                name,email
+                Ana,ana@example.com
+                Luis,luis@example.com
+                Pedro,pedro@example.com
+                Marta,marta@example.com
+                """;
+
+        // Act
+        BulkImportResultDTO result = importService.importClients(stream(csv), "CSV");
+
+        // Assert
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of(
+                new RowError(4, "Error al guardar el lote: value too long"),
+                new RowError(5, "Error al guardar el lote: value too long")), result.getErrors());
+        assertEquals(List.of(new ClientsChangedEvent(2)), events);
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
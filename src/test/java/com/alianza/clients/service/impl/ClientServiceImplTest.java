@@ -0,0 +1,130 @@
+package com.alianza.clients.service.impl;
+
+import com.alianza.clients.config.CacheConfig;
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.dto.ClientSearchCriteria;
+import com.alianza.clients.exception.DuplicateKeyException;
+import com.alianza.clients.mapper.ClientMapperImpl;
+import com.alianza.clients.model.Client;
+import com.alianza.clients.repository.IClientRepository;
+import com.alianza.clients.service.export.ClientExporterRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ClientServiceImplTest {
+
+    private IClientRepository clientRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private ClientServiceImpl clientService;
+
+    @BeforeEach
+    void setUp() {
+        clientRepository = mock(IClientRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        clientService = clientService(new ConcurrentMapCacheManager(CacheConfig.CLIENTS_BY_SHARED_KEY));
+    }
+
+    @Test
+    void createClient_WhenSharedKeyConstraintIsViolated_ShouldReportTheSharedKey() {
+        // Arrange
+        when(clientRepository.saveAndFlush(any())).thenThrow(violation(Client.SHARED_KEY_CONSTRAINT));
+
+        // Act
+        DuplicateKeyException ex = assertThrows(DuplicateKeyException.class,
+                () -> clientService.createClient(newClient()));
+
+        // Assert
+        assertEquals("El sharedKey 'ana' ya existe. Por favor use un email diferente.", ex.getMessage());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void createClient_WhenEmailConstraintIsViolated_ShouldReportTheEmail() {
+        // Arrange: PostgreSQL puede devolver el nombre de la restricción con otras mayúsculas
+        when(clientRepository.saveAndFlush(any())).thenThrow(violation(Client.EMAIL_CONSTRAINT.toUpperCase()));
+
+        // Act
+        DuplicateKeyException ex = assertThrows(DuplicateKeyException.class,
+                () -> clientService.createClient(newClient()));
+
+        // Assert
+        assertEquals("El email 'ana@example.com' ya está registrado.", ex.getMessage());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void createClient_WhenViolationIsNotAKnownUniqueConstraint_ShouldReportAGenericDuplicate() {
+        // Arrange
+        when(clientRepository.saveAndFlush(any()))
+                .thenThrow(violation("client_pkey"))
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+
+        // Act
+        DuplicateKeyException otherConstraint = assertThrows(DuplicateKeyException.class,
+                () -> clientService.createClient(newClient()));
+        DuplicateKeyException withoutConstraint = assertThrows(DuplicateKeyException.class,
+                () -> clientService.createClient(newClient()));
+
+        // Assert
+        for (DuplicateKeyException ex : List.of(otherConstraint, withoutConstraint)) {
+            assertEquals("Error al guardar el cliente. Posible duplicación de datos.", ex.getMessage());
+        }
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void searchClients_ShouldOrderResultsByCreationDateAndId() {
+        // Arrange: la base de datos no garantiza el orden de la búsqueda
+        when(clientRepository.findAllAsDTO(any())).thenReturn(List.of(
+                client("id-3", LocalDate.of(2024, 1, 2)),
+                client("id-2", LocalDate.of(2024, 1, 1)),
+                client("id-1", LocalDate.of(2024, 1, 2))));
+
+        // Act
+        List<ClientDTO> clients = clientService.searchClients(ClientSearchCriteria.builder().name("client").build());
+
+        // Assert
+        assertEquals(List.of("id-2", "id-1", "id-3"), clients.stream().map(ClientDTO::getId).toList());
+    }
+
+    private ClientServiceImpl clientService(CacheManager cacheManager) {
+        return new ClientServiceImpl(clientRepository, new ClientMapperImpl(), cacheManager,
+                new SimpleMeterRegistry(), new ObjectMapper(), eventPublisher, new ClientExporterRegistry(List.of()),
+                mock(ParallelCsvExporter.class), mock(PlatformTransactionManager.class),
+                new InMemoryClientSearch(clientRepository, Runnable::run, false, "", 10000), 500);
+    }
+
+    private static DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key value violates unique constraint",
+                        new SQLException("duplicate key", "23505"), constraintName));
+    }
+
+    private static ClientDTO client(String id, LocalDate createdAt) {
+        return ClientDTO.builder().id(id).sharedKey("key-" + id).name("Client " + id).createdAt(createdAt).build();
+    }
+
+    private static ClientDTO newClient() {
+        return ClientDTO.builder()
+                .name("Ana")
+                .email("ana@example.com")
+                .phone("3001234567")
+                .build();
+    }
+}
@@ -0,0 +1,203 @@
+package com.alianza.clients.service.impl;
+
+import com.alianza.clients.dto.ClientSearchCriteria;
+import com.alianza.clients.dto.ExportJobDTO;
+import com.alianza.clients.exception.BadRequestException;
+import com.alianza.clients.exception.ExportException;
+import com.alianza.clients.exception.ResourceNotFoundException;
+import com.alianza.clients.exception.ServiceUnavailableException;
+import com.alianza.clients.service.IClientService;
+import com.alianza.clients.service.export.ClientExporterRegistry;
+import com.alianza.clients.service.export.CsvClientExporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpRange;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ExportJobServiceImplTest {
+
+    private static final ClientSearchCriteria CSV = ClientSearchCriteria.builder().exportFormat("CSV").build();
+
+    @TempDir
+    private Path directory;
+
+    private final IClientService clientService = mock(IClientService.class);
+    private ExportJobServiceImpl exportJobService;
+
+    @AfterEach
+    void tearDown() {
+        exportJobService.shutdown();
+    }
+
+    @Test
+    void submitExport_WhenWorkerAndQueueAreFull_ShouldRejectWithServiceUnavailable() throws Exception {
+        // Arrange: un trabajador ocupado y un hueco en la cola
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return null;
+        }).when(clientService).exportClients(any(), any(), any());
+        exportJobService = service(Duration.ofHours(1));
+        ExportJobDTO running = exportJobService.submitExport(CSV);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        ExportJobDTO queued = exportJobService.submitExport(CSV);
+
+        // Act
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> exportJobService.submitExport(CSV));
+
+        // Assert
+        assertEquals("Hay demasiadas exportaciones en curso. Intente más tarde.", ex.getMessage());
+        assertEquals("RUNNING", exportJobService.getExportJob(running.getId()).getStatus());
+        assertEquals("PENDING", exportJobService.getExportJob(queued.getId()).getStatus());
+        release.countDown();
+        awaitStatus(running.getId(), "COMPLETED");
+        awaitStatus(queued.getId(), "COMPLETED");
+    }
+
+    @Test
+    void submitExport_ShouldReportProgressWhileRunningAndTheFileWhenCompleted() throws Exception {
+        // Arrange
+        CountDownLatch firstRow = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            LongConsumer progress = invocation.getArgument(2);
+            out.write("ID\n1\n".getBytes(StandardCharsets.UTF_8));
+            progress.accept(1);
+            firstRow.countDown();
+            release.await();
+            out.write("2\n".getBytes(StandardCharsets.UTF_8));
+            progress.accept(2);
+            return null;
+        }).when(clientService).exportClients(any(), any(), any());
+        exportJobService = service(Duration.ofHours(1));
+
+        // Act
+        ExportJobDTO submitted = exportJobService.submitExport(CSV);
+        assertTrue(firstRow.await(5, TimeUnit.SECONDS));
+        ExportJobDTO running = exportJobService.getExportJob(submitted.getId());
+        BadRequestException notFinished = assertThrows(BadRequestException.class,
+                () -> exportJobService.getExportFile(submitted.getId()));
+        release.countDown();
+        ExportJobDTO completed = awaitStatus(submitted.getId(), "COMPLETED");
+
+        // Assert
+        assertEquals("CSV", submitted.getExportFormat());
+        assertEquals("RUNNING", running.getStatus());
+        assertEquals(1, running.getRowsWritten());
+        assertNull(running.getFileSize());
+        assertTrue(notFinished.getMessage().endsWith("Estado: RUNNING"));
+        assertEquals(2, completed.getRowsWritten());
+        assertEquals(7L, completed.getFileSize());
+        assertNotNull(completed.getCompletedAt());
+        assertNull(completed.getError());
+    }
+
+    @Test
+    void submitExport_WhenExportFails_ShouldReportTheErrorAndDeleteThePartialFile() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("ID\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            throw new ExportException("Error al generar el archivo", new IllegalStateException());
+        }).when(clientService).exportClients(any(), any(), any());
+        exportJobService = service(Duration.ofHours(1));
+
+        // Act
+        ExportJobDTO failed = awaitStatus(exportJobService.submitExport(CSV).getId(), "FAILED");
+
+        // Assert
+        assertEquals("Error al generar el archivo", failed.getError());
+        assertNull(failed.getFileSize());
+        assertThrows(BadRequestException.class, () -> exportJobService.getExportFile(failed.getId()));
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void getExportFile_ShouldServeByteRangesOfTheExportedFile() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("0123456789".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(clientService).exportClients(any(), any(), any());
+        exportJobService = service(Duration.ofHours(1));
+        String jobId = awaitStatus(exportJobService.submitExport(CSV).getId(), "COMPLETED").getId();
+
+        // Act
+        Resource file = exportJobService.getExportFile(jobId);
+        ResourceRegion region = HttpRange.parseRanges("bytes=2-5").get(0).toResourceRegion(file);
+
+        // Assert
+        assertEquals(jobId + ".csv", file.getFilename());
+        assertEquals(10, file.contentLength());
+        assertEquals(2, region.getPosition());
+        assertEquals(4, region.getCount());
+        try (InputStream in = region.getResource().getInputStream()) {
+            in.skipNBytes(region.getPosition());
+            assertEquals("2345", new String(in.readNBytes((int) region.getCount()), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void sweepExpiredJobs_ShouldRemoveOnlyFinishedJobsPastTheirTtlAndTheirFiles() throws Exception {
+        // Arrange: con TTL cero un trabajo vence en cuanto finaliza
+        CountDownLatch release = new CountDownLatch(1);
+        doNothing().doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(clientService).exportClients(any(), any(), any());
+        exportJobService = service(Duration.ZERO);
+        String finished = awaitStatus(exportJobService.submitExport(CSV).getId(), "COMPLETED").getId();
+        String running = awaitStatus(exportJobService.submitExport(CSV).getId(), "RUNNING").getId();
+        assertTrue(Files.exists(directory.resolve(finished + ".csv")));
+
+        // Act
+        exportJobService.sweepExpiredJobs();
+
+        // Assert
+        assertThrows(ResourceNotFoundException.class, () -> exportJobService.getExportJob(finished));
+        assertFalse(Files.exists(directory.resolve(finished + ".csv")));
+        assertEquals("RUNNING", exportJobService.getExportJob(running).getStatus());
+        release.countDown();
+    }
+
+    private ExportJobServiceImpl service(Duration ttl) throws Exception {
+        return new ExportJobServiceImpl(clientService, new ClientExporterRegistry(List.of(new CsvClientExporter())),
+                directory, ttl, 1, 1, false);
+    }
+
+    private ExportJobDTO awaitStatus(String jobId, String status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        ExportJobDTO job = exportJobService.getExportJob(jobId);
+        while (!status.equals(job.getStatus())) {
+            assertTrue(System.nanoTime() < deadline, "Estado " + job.getStatus() + " en lugar de " + status);
+            Thread.sleep(5);
+            job = exportJobService.getExportJob(jobId);
+        }
+        return job;
+    }
+}
@@ -0,0 +1,179 @@
+package com.alianza.clients.service.impl;
+
+import com.alianza.clients.dto.ClientCreatedAtRange;
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.dto.ClientSearchCriteria;
+import com.alianza.clients.exception.ExportException;
+import com.alianza.clients.repository.IClientRepository;
+import com.alianza.clients.service.export.ExportPhases;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ParallelCsvExporterTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+    private static final int CLIENTS = 30;
+
+    private IClientRepository clientRepository;
+    private PlatformTransactionManager transactionManager;
+    private ParallelCsvExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        clientRepository = mock(IClientRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        // Un cliente por día; cada partición recibe solo los de su rango [from, to)
+        List<ClientDTO> clients = IntStream.range(0, CLIENTS).mapToObj(ParallelCsvExporterTest::client).toList();
+        when(clientRepository.findCreatedAtRange(any())).thenReturn(new ClientCreatedAtRange(
+                FIRST_DAY.atStartOfDay(), FIRST_DAY.plusDays(CLIENTS - 1).atStartOfDay()));
+        when(clientRepository.streamAllAsDTO(any(), any(), any())).thenAnswer(invocation -> {
+            LocalDateTime from = invocation.getArgument(1);
+            LocalDateTime to = invocation.getArgument(2);
+            return clients.stream().filter(client -> {
+                LocalDateTime createdAt = client.getCreatedAt().atStartOfDay();
+                return (from == null || !createdAt.isBefore(from)) && (to == null || createdAt.isBefore(to));
+            });
+        });
+        when(clientRepository.exportSnapshot()).thenReturn("00000003-0000001B-1");
+        // Dos hilos para las tres particiones de cada exportación: solo cabe una exportación en paralelo
+        exporter = new ParallelCsvExporter(clientRepository, transactionManager, 4, 2, Duration.ofMinutes(1), false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        exporter.shutdown();
+    }
+
+    @Test
+    void export_ShouldConcatenatePartitionsInOrderAfterASingleHeader() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Long> progress = new ArrayList<>();
+        ExportPhases phases = new ExportPhases();
+
+        // Act
+        boolean exported = exporter.tryExport(ClientSearchCriteria.builder().build(), out, progress::add, phases);
+
+        // Assert
+        assertTrue(exported);
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals("ID,Shared Key,Business ID,Email,Phone,Created At", lines.get(0));
+        assertEquals("id-0,client0,Client 0,client0@example.com,5550,2024-01-01", lines.get(1));
+        assertEquals(IntStream.range(0, CLIENTS).mapToObj(i -> "id-" + i).toList(),
+                lines.stream().skip(1).map(line -> line.substring(0, line.indexOf(','))).toList());
+        assertEquals(4, progress.size());
+        assertEquals(CLIENTS, progress.get(progress.size() - 1));
+        assertEquals(CLIENTS, phases.rows());
+    }
+
+    @Test
+    void export_ShouldReadEveryPartitionInTheExportedSnapshot() throws Exception {
+        // Act
+        exporter.tryExport(ClientSearchCriteria.builder().build(), new ByteArrayOutputStream(), rows -> { },
+                new ExportPhases());
+
+        // Assert: la primera partición se lee en la transacción que exporta la instantánea
+        verify(clientRepository).exportSnapshot();
+        verify(clientRepository, times(3)).importSnapshot("00000003-0000001B-1");
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(4)).getTransaction(definitions.capture());
+        assertTrue(definitions.getAllValues().stream().allMatch(definition -> !definition.isReadOnly()
+                && definition.getIsolationLevel() == TransactionDefinition.ISOLATION_REPEATABLE_READ));
+        verify(transactionManager, times(4)).commit(any());
+    }
+
+    @Test
+    void tryExport_WhenAnotherParallelExportIsRunning_ShouldDeclineWithoutTouchingTheDatabase() throws Exception {
+        // Arrange: la primera exportación se queda esperando a sus particiones
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        blockPartitions(reading, finish);
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> first = caller.submit(() -> exporter.tryExport(ClientSearchCriteria.builder().build(),
+                    new ByteArrayOutputStream(), rows -> { }, new ExportPhases()));
+            assertTrue(reading.await(5, TimeUnit.SECONDS));
+
+            // Act
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            boolean second = exporter.tryExport(ClientSearchCriteria.builder().build(), out, rows -> { },
+                    new ExportPhases());
+
+            // Assert
+            assertFalse(second);
+            assertEquals(0, out.size());
+            verify(clientRepository, times(1)).exportSnapshot();
+            finish.countDown();
+            assertTrue(first.get(5, TimeUnit.SECONDS));
+        } finally {
+            finish.countDown();
+            caller.shutdownNow();
+        }
+    }
+
+    @Test
+    void tryExport_WhenAPartitionOutlivesTheTimeout_ShouldFailAndFreeTheSlot() throws Exception {
+        // Arrange
+        ParallelCsvExporter impatient = new ParallelCsvExporter(clientRepository, transactionManager, 4, 2,
+                Duration.ofMillis(200), false);
+        CountDownLatch finish = new CountDownLatch(1);
+        blockPartitions(new CountDownLatch(1), finish);
+        try {
+            // Act & Assert
+            assertThrows(ExportException.class, () -> impatient.tryExport(ClientSearchCriteria.builder().build(),
+                    new ByteArrayOutputStream(), rows -> { }, new ExportPhases()));
+            finish.countDown();
+            assertTrue(impatient.tryExport(ClientSearchCriteria.builder().build(), new ByteArrayOutputStream(),
+                    rows -> { }, new ExportPhases()));
+        } finally {
+            finish.countDown();
+            impatient.shutdown();
+        }
+    }
+
+    /**
+     * Retiene las particiones que se leen fuera del hilo que exporta hasta que se abra {@code finish}.
+     */
+    private void blockPartitions(CountDownLatch reading, CountDownLatch finish) {
+        doAnswer(invocation -> {
+            reading.countDown();
+            finish.await();
+            return null;
+        }).when(clientRepository).importSnapshot(any());
+    }
+
+    private static ClientDTO client(int i) {
+        return ClientDTO.builder()
+                .id("id-" + i)
+                .sharedKey("client" + i)
+                .name("Client " + i)
+                .email("client" + i + "@example.com")
+                .phone("555" + i)
+                .createdAt(FIRST_DAY.plusDays(i))
+                .build();
+    }
+}
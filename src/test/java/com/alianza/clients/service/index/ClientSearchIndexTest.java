@@ -0,0 +1,108 @@
+package com.alianza.clients.service.index;
+
+import com.alianza.clients.dto.ClientDTO;
+import com.alianza.clients.dto.ClientSearchCriteria;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientSearchIndexTest {
+
+    private ClientSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ClientSearchIndex();
+        for (int i = 0; i < 2000; i++) {
+            index.add(ClientDTO.builder()
+                    .id("id-" + i)
+                    .sharedKey("user" + i)
+                    .name("Client " + i)
+                    .email("user" + i + "@Example.com")
+                    .phone(String.format("%010d", i))
+                    .createdAt(LocalDate.of(2024, 1, 1).plusDays(i % 100))
+                    .build());
+        }
+    }
+
+    @Test
+    void searchBySharedKey_ShouldMatchSubstringIgnoringCase() {
+        // Act
+        List<ClientDTO> clients = index.searchBySharedKey("USER199");
+
+        // Assert
+        assertEquals(List.of("user199", "user1990", "user1991", "user1992", "user1993", "user1994", "user1995",
+                "user1996", "user1997", "user1998", "user1999"), clients.stream().map(ClientDTO::getSharedKey).toList());
+        assertEquals("id-199", clients.get(0).getId());
+        assertEquals("0000000199", clients.get(0).getPhone());
+        assertEquals(LocalDate.of(2024, 4, 9), clients.get(0).getCreatedAt());
+    }
+
+    @Test
+    void search_WithShortAndMissingTexts_ShouldScanOrReturnEmpty() {
+        // Act & Assert
+        assertEquals(2000, index.search(ClientSearchCriteria.builder().name("t ").email(" ").build()).size());
+        assertEquals(38, index.search(ClientSearchCriteria.builder().name("99").build()).size());
+        assertTrue(index.searchBySharedKey("nobody").isEmpty());
+        assertTrue(index.searchBySharedKey("1resu").isEmpty());
+    }
+
+    @Test
+    void search_ShouldCombineTextFiltersAndInclusiveDateRange() {
+        // Arrange
+        ClientSearchCriteria criteria = ClientSearchCriteria.builder()
+                .email("EXAMPLE.COM")
+                .phone("00001")
+                .startDate(LocalDate.of(2024, 1, 2))
+                .endDate(LocalDate.of(2024, 1, 3))
+                .build();
+
+        // Act
+        List<ClientDTO> clients = index.search(criteria);
+
+        // Assert: teléfonos que contienen 00001 creados el 2 o el 3 de enero (i % 100 entre 1 y 2)
+        assertEquals(List.of("id-1", "id-101", "id-102", "id-1001", "id-1002", "id-1101", "id-1102", "id-1201",
+                        "id-1202", "id-1301", "id-1302", "id-1401", "id-1402", "id-1501", "id-1502", "id-1601", "id-1602", "id-1701", "id-1702",
+                        "id-1801", "id-1802", "id-1901", "id-1902"),
+                clients.stream().map(ClientDTO::getId).toList());
+    }
+
+    @Test
+    void add_WithExistingId_ShouldIgnoreClient() {
+        // Act
+        boolean added = index.add(ClientDTO.builder().id("id-5").sharedKey("other").name("Other").build());
+
+        // Assert
+        assertFalse(added);
+        assertEquals(2000, index.size());
+        assertTrue(index.searchBySharedKey("other").isEmpty());
+    }
+
+    @Test
+    void readFrom_ShouldRestoreIndexWrittenBySnapshot() throws Exception {
+        // Arrange
+        index.add(ClientDTO.builder().id("no-phone").sharedKey("nophone").name("Nadie").email("n@example.com").build());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+
+        // Act
+        ClientSearchIndex restored = ClientSearchIndex.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // Assert
+        assertEquals(2001, restored.size());
+        assertEquals(index.searchBySharedKey("user42"), restored.searchBySharedKey("user42"));
+        ClientDTO noPhone = restored.searchBySharedKey("nophone").get(0);
+        assertNull(noPhone.getPhone());
+        assertNull(noPhone.getCreatedAt());
+        assertTrue(restored.search(ClientSearchCriteria.builder().startDate(LocalDate.of(2000, 1, 1)).build())
+                .stream().noneMatch(client -> client.getId().equals("no-phone")));
+    }
+}